@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand;
+
+import com.exactpro.th2.act.grpc.hand.RhActionList;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
+
+/**
+ * Actions batches typical for th2-act scripts: clicks and text input mixed with waits
+ */
+public final class BenchmarkActions {
+	private BenchmarkActions() {
+	}
+
+	public static RhActionList web(int count) {
+		RhActionList.Builder actions = RhActionList.newBuilder();
+		for (int i = 0; i < count; i++)
+			actions.getWebBuilder().addWebActionList(webAction(i));
+		return actions.build();
+	}
+
+	public static RhActionList win(int count) {
+		RhActionList.Builder actions = RhActionList.newBuilder();
+		for (int i = 0; i < count; i++)
+			actions.getWinBuilder().addWinActionList(winAction(i));
+		return actions.build();
+	}
+
+	private static RhWebActions webAction(int index) {
+		RhWebActions.Builder action = RhWebActions.newBuilder();
+		switch (index % 4) {
+			case 0:
+				return action.setOpen(RhActionsMessages.Open.newBuilder().setUrl("https://example.com/page?id=" + index)).build();
+			case 1:
+				return action.setClick(RhActionsMessages.Click.newBuilder()
+						.setWait(5)
+						.setLocator(RhActionsMessages.Locator.XPATH)
+						.setMatcher("//div[@id='form']/button[" + index + "]")).build();
+			case 2:
+				return action.setSendKeys(RhActionsMessages.SendKeys.newBuilder()
+						.setWait(5)
+						.setLocator(RhActionsMessages.Locator.CSS_SELECTOR)
+						.setMatcher("#input-" + index)
+						.setText("Text, with \"quotes\" #" + index)).build();
+			default:
+				return action.setWait(RhActionsMessages.Wait.newBuilder().setSeconds(1)).build();
+		}
+	}
+
+	private static RhWinActions winAction(int index) {
+		RhWinActions.Builder action = RhWinActions.newBuilder();
+		RhWinActionsMessages.BaseWinParams baseParams = RhWinActionsMessages.BaseWinParams.newBuilder()
+				.setId("action" + index).build();
+		RhWinActionsMessages.WinLocator locator = RhWinActionsMessages.WinLocator.newBuilder()
+				.setLocator("accessibilityId").setMatcher("element" + index).build();
+		switch (index % 3) {
+			case 0:
+				return action.setWinClick(RhWinActionsMessages.WinClick.newBuilder()
+						.setBaseParams(baseParams).addLocators(locator)).build();
+			case 1:
+				return action.setWinSendText(RhWinActionsMessages.WinSendText.newBuilder()
+						.setBaseParams(baseParams).addLocators(locator).setText("Text, with \"quotes\" #" + index)).build();
+			default:
+				return action.setWinWait(RhWinActionsMessages.WinWait.newBuilder().setBaseParams(baseParams).setMillis(100)).build();
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.builders.events;
+
+import com.exactpro.remotehand.rhdata.RhResponseCode;
+import com.exactpro.remotehand.rhdata.RhScriptResult;
+import com.exactpro.th2.act.grpc.hand.ResultDetails;
+import com.exactpro.th2.act.grpc.hand.RhActionsBatch;
+import com.exactpro.th2.act.grpc.hand.RhBatchResponse;
+import com.exactpro.th2.common.grpc.ConnectionID;
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.common.grpc.Event;
+import com.exactpro.th2.common.grpc.MessageID;
+import com.exactpro.th2.common.schema.factory.CommonFactory;
+import com.exactpro.th2.hand.messages.responseexecutor.ActionsBatchExecutorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building of the event reported for every executed batch, run with gc profiler to see allocation rate
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefaultEventBuilderBenchmark {
+	@Param({"1", "20", "200"})
+	public int actions;
+
+	private CommonFactory factory;
+	private DefaultEventBuilder eventBuilder;
+	private RhActionsBatch request;
+	private ActionsBatchExecutorResponse executorResponse;
+
+	@Setup
+	public void setUp() {
+		// default factory has no connections, only book name from box configuration is used to build IDs
+		factory = new CommonFactory();
+		eventBuilder = new DefaultEventBuilder(factory);
+
+		RhActionsBatch.AdditionalEventInfo.Builder info = RhActionsBatch.AdditionalEventInfo.newBuilder()
+				.setDescription("Benchmark batch")
+				.setPrintTable(true)
+				.setRequestParamsTableTitle("Request parameters");
+		for (int i = 0; i < 10; i++)
+			info.addKeys("key" + i).addValues("value" + i);
+		request = RhActionsBatch.newBuilder()
+				.setEventName("Execute actions")
+				.setStoreActionMessages(true)
+				.setAdditionalEventInfo(info)
+				.build();
+
+		RhBatchResponse.Builder response = RhBatchResponse.newBuilder()
+				.setSessionId("th2_hand_benchmark")
+				.setScriptStatus(RhBatchResponse.ScriptExecutionStatus.SUCCESS);
+		List<MessageID> messageIds = new ArrayList<>();
+		for (int i = 0; i < actions; i++) {
+			response.addResult(ResultDetails.newBuilder().setActionId("action" + i).setResult("Result of action " + i));
+			messageIds.add(MessageID.newBuilder()
+					.setConnectionId(ConnectionID.newBuilder().setSessionAlias("th2-hand"))
+					.setDirection(Direction.FIRST)
+					.setSequence(i)
+					.build());
+		}
+		RhScriptResult scriptResult = new RhScriptResult();
+		scriptResult.setCode(RhResponseCode.SUCCESS.getCode());
+		executorResponse = new ActionsBatchExecutorResponse(response.build(), scriptResult, messageIds);
+	}
+
+	@TearDown
+	public void tearDown() {
+		factory.close();
+	}
+
+	@Benchmark
+	public Event buildEvent() {
+		return eventBuilder.buildEvent(request, executorResponse);
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.builders.mstore;
+
+import com.exactpro.th2.common.grpc.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contention of sequence allocation: shared counter used before versus per-alias counters of {@link SequenceGenerator}.
+ * Every thread works with one of {@link #ALIASES} session aliases.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SequenceGeneratorBenchmark {
+	private static final int ALIASES = 16;
+
+	private final AtomicLong sharedCounter = new AtomicLong(System.nanoTime());
+	private final SequenceGenerator generator = new SequenceGenerator(System.nanoTime());
+	private final AtomicInteger threadIndex = new AtomicInteger();
+
+	@State(Scope.Thread)
+	public static class ThreadState {
+		String sessionAlias;
+
+		@Setup
+		public void setUp(SequenceGeneratorBenchmark benchmark) {
+			sessionAlias = "alias_" + benchmark.threadIndex.getAndIncrement() % ALIASES;
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public long sharedCounter01(ThreadState state) {
+		return sharedCounter.incrementAndGet();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public long generator01(ThreadState state) {
+		return generator.next(state.sessionAlias, Direction.FIRST);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public long sharedCounter04(ThreadState state) {
+		return sharedCounter.incrementAndGet();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public long generator04(ThreadState state) {
+		return generator.next(state.sessionAlias, Direction.FIRST);
+	}
+
+	@Benchmark
+	@Threads(16)
+	public long sharedCounter16(ThreadState state) {
+		return sharedCounter.incrementAndGet();
+	}
+
+	@Benchmark
+	@Threads(16)
+	public long generator16(ThreadState state) {
+		return generator.next(state.sessionAlias, Direction.FIRST);
+	}
+
+	@Benchmark
+	@Threads(64)
+	public long sharedCounter64(ThreadState state) {
+		return sharedCounter.incrementAndGet();
+	}
+
+	@Benchmark
+	@Threads(64)
+	public long generator64(ThreadState state) {
+		return generator.next(state.sessionAlias, Direction.FIRST);
+	}
+
+	/** Range of 10 sequences as for a fragmented screenshot, compare with 10 calls of {@link #generator64} */
+	@Benchmark
+	@Threads(64)
+	public long generatorReserve64(ThreadState state) {
+		return generator.reserve(state.sessionAlias, Direction.FIRST, 10);
+	}
+}
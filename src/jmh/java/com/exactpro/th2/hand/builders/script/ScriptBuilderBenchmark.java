@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.builders.script;
+
+import com.exactpro.th2.act.grpc.hand.RhActionList;
+import com.exactpro.th2.hand.BenchmarkActions;
+import com.exactpro.th2.hand.HandException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building of CSV script sent to RemoteHand for every batch, with and without cache of script templates
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScriptBuilderBenchmark {
+	@Param({"web", "win"})
+	public String type;
+
+	@Param({"5", "200"})
+	public int actions;
+
+	@Param({"0", "1000"})
+	public int templateCacheSize;
+
+	private ScriptBuilder scriptBuilder;
+	private RhActionList actionList;
+
+	@Setup
+	public void setUp() {
+		scriptBuilder = new ScriptBuilder(templateCacheSize);
+		actionList = "win".equals(type) ? BenchmarkActions.win(actions) : BenchmarkActions.web(actions);
+	}
+
+	@Benchmark
+	public String buildScript() throws HandException {
+		return scriptBuilder.buildScript(actionList);
+	}
+}
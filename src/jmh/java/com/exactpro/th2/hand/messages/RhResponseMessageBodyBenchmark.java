@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.messages;
+
+import com.exactpro.remotehand.ActionResult;
+import com.exactpro.remotehand.rhdata.RhResponseCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of RemoteHand response to JSON body of the raw message stored for every batch,
+ * the same way as {@link com.exactpro.th2.hand.builders.mstore.DefaultMessageStoreBuilder} does
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RhResponseMessageBodyBenchmark {
+	@Param({"1", "20", "200"})
+	public int actions;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private List<ActionResult> actionResults;
+
+	@Setup
+	public void setUp() {
+		actionResults = new ArrayList<>(actions);
+		for (int i = 0; i < actions; i++)
+			actionResults.add(new ActionResult("action" + i, "Result of action " + i));
+	}
+
+	@Benchmark
+	public byte[] encodeFields() throws JsonProcessingException {
+		RhResponseMessageBody body = new RhResponseMessageBody()
+				.setScriptOutputCode(RhResponseCode.SUCCESS.toString())
+				.setActionResults(actionResults)
+				.setRhSessionId("th2_hand_benchmark");
+		return mapper.writeValueAsBytes(body.getFields());
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.services;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Footprint of batch execution when all sessions wait for their drivers at the same time: 
+ * pool of platform threads, one per session, versus a virtual thread per batch. 
+ * Besides the time of one round, platform threads of the JVM and resident memory of the process 
+ * (it includes stacks of platform threads, on Linux only) are reported at the moment all batches are waiting. 
+ * Virtual threads need Java 21+, on older Java the virtual mode falls back to platform threads.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchExecutorFootprintBenchmark {
+	@Param({"500"})
+	int sessions;
+
+	@Param({"false", "true"})
+	boolean useVirtualThreads;
+
+	/** Time the driver works on each batch */
+	@Param({"50"})
+	long driverMillis;
+
+	private ExecutorService executor;
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Footprint {
+		public long platformThreads;
+		public long residentKb;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			platformThreads = 0;
+			residentKb = 0;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		executor = MessageHandler.createBatchExecutor(sessions, 0, useVirtualThreads, 0);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+
+	@Benchmark
+	public void allSessionsWaiting(Footprint footprint) throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(sessions);
+		CountDownLatch driversDone = new CountDownLatch(1);
+		CountDownLatch finished = new CountDownLatch(sessions);
+		for (int i = 0; i < sessions; i++) {
+			executor.execute(() -> {
+				started.countDown();
+				try {
+					driversDone.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					finished.countDown();
+				}
+			});
+		}
+		started.await();
+		footprint.platformThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+		footprint.residentKb = getResidentKb();
+		Thread.sleep(driverMillis);
+		driversDone.countDown();
+		finished.await();
+	}
+
+	private static long getResidentKb() {
+		try {
+			for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+				if (line.startsWith("VmRSS:")) {
+					return Long.parseLong(line.replaceAll("\\D", ""));
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			// not available out of Linux
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.exactpro.th2.act.grpc.hand.RhActionsBatch;
+import com.exactpro.th2.common.grpc.MessageID;
+import com.exactpro.th2.common.schema.factory.CommonFactory;
+import com.exactpro.th2.hand.BenchmarkActions;
+import com.exactpro.th2.hand.builders.mstore.DefaultMessageStoreBuilder;
+import com.exactpro.th2.hand.builders.mstore.SequenceGenerator;
+import com.exactpro.th2.hand.schema.CustomConfiguration;
+import com.exactpro.th2.hand.schema.ScreenshotStorageConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Encoding of a request to JSON raw message stored for every batch, messages are dropped by a no-op router
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageStoreHandlerBenchmark {
+	@Param({"web", "win"})
+	public String type;
+
+	@Param({"5", "200"})
+	public int actions;
+
+	private CommonFactory factory;
+	private MessageStoreHandler messageStoreHandler;
+	private RhActionsBatch request;
+
+	@Setup
+	public void setUp() {
+		// default factory has no connections, only book name from box configuration is used to build IDs
+		factory = new CommonFactory();
+		MessageStoreSender sender = new MessageStoreSender(NoOpMessageRouter.create(new LongAdder()), new CustomConfiguration());
+		messageStoreHandler = new MessageStoreHandler(null, sender,
+				new DefaultMessageStoreBuilder(factory, new SequenceGenerator(0)), new ScreenshotStorageConfiguration());
+		request = RhActionsBatch.newBuilder()
+				.setRhAction("win".equals(type) ? BenchmarkActions.win(actions) : BenchmarkActions.web(actions))
+				.build();
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		messageStoreHandler.close();
+		factory.close();
+	}
+
+	@Benchmark
+	public List<MessageID> onRequest() {
+		return messageStoreHandler.onRequest(request, "th2-hand");
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.exactpro.th2.common.grpc.ConnectionID;
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.common.grpc.MessageID;
+import com.exactpro.th2.common.grpc.RawMessage;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
+import com.exactpro.th2.hand.schema.CustomConfiguration;
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalescing of raw messages into batches by the publisher thread of the sender, batches are dropped by a no-op router.
+ * The queue of the sender is bounded, so in steady state the throughput is limited by batching, not by enqueueing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MessageStoreSenderBenchmark {
+	@Param({"256", "65536"})
+	public int messageSize;
+
+	@Param({"1", "16"})
+	public int aliases;
+
+	private final LongAdder sentBatches = new LongAdder();
+	private final AtomicLong sequence = new AtomicLong();
+	private MessageStoreSender sender;
+	private RawMessage[] messages;
+
+	@Setup
+	public void setUp() {
+		// default configuration: 1 MB batches, 100 ms linger, 10000 messages in queue
+		sender = new MessageStoreSender(NoOpMessageRouter.create(sentBatches), new CustomConfiguration());
+		ByteString body = ByteString.copyFrom(new byte[messageSize]);
+		messages = new RawMessage[aliases];
+		for (int i = 0; i < aliases; i++) {
+			messages[i] = RawMessage.newBuilder()
+					.setMetadata(RawMessageMetadata.newBuilder().setId(MessageID.newBuilder()
+							.setBookName("benchmark")
+							.setConnectionId(ConnectionID.newBuilder().setSessionAlias("alias" + i))
+							.setDirection(Direction.FIRST)))
+					.setBody(body)
+					.build();
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		sender.close();
+	}
+
+	@Benchmark
+	public void sendMessages() {
+		long next = sequence.getAndIncrement();
+		RawMessage message = messages[(int) (next % aliases)];
+		// only the sequence is changed, the body is shared
+		sender.sendMessages(message.toBuilder().setMetadata(message.getMetadata().toBuilder()
+				.setId(message.getMetadata().getId().toBuilder().setSequence(next))).build());
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.exactpro.th2.common.grpc.MessageGroupBatch;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Router which drops all batches, only their number is counted.
+ * It is a proxy so it does not depend on the set of methods of {@link MessageRouter} in the used th2-common version.
+ */
+final class NoOpMessageRouter {
+	private NoOpMessageRouter() {
+	}
+
+	@SuppressWarnings("unchecked")
+	static MessageRouter<MessageGroupBatch> create(LongAdder sentBatches) {
+		return (MessageRouter<MessageGroupBatch>) Proxy.newProxyInstance(MessageRouter.class.getClassLoader(),
+				new Class<?>[] { MessageRouter.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "send":
+						case "sendAll":
+							sentBatches.increment();
+							return null;
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return proxy == args[0];
+						case "toString":
+							return "NoOpMessageRouter";
+						default:
+							return null;
+					}
+				});
+	}
+}
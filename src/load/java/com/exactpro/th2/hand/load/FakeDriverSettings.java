@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.load;
+
+/**
+ * Behaviour of fake RemoteHand sessions
+ */
+public class FakeDriverSettings {
+	/** Mean time of execution of one action */
+	public final long actionLatencyMs;
+	/** Latency of each action is random within mean latency +/- jitter */
+	public final long actionLatencyJitterMs;
+	/** Probability of an action to fail, the script stops on the failed action */
+	public final double failureRate;
+	/** Probability of an action to produce a screenshot */
+	public final double screenshotRate;
+	/** Width and height of generated screenshots */
+	public final int screenshotWidth, screenshotHeight;
+
+	public FakeDriverSettings(long actionLatencyMs, long actionLatencyJitterMs, double failureRate, 
+	                          double screenshotRate, int screenshotWidth, int screenshotHeight) {
+		this.actionLatencyMs = actionLatencyMs;
+		this.actionLatencyJitterMs = Math.min(actionLatencyJitterMs, actionLatencyMs);
+		this.failureRate = failureRate;
+		this.screenshotRate = screenshotRate;
+		this.screenshotWidth = screenshotWidth;
+		this.screenshotHeight = screenshotHeight;
+	}
+
+	@Override
+	public String toString() {
+		return "action latency " + actionLatencyMs + " +/- " + actionLatencyJitterMs + " ms, failure rate " + failureRate 
+				+ ", screenshot rate " + screenshotRate + " (" + screenshotWidth + "x" + screenshotHeight + ")";
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.load;
+
+import com.exactpro.remotehand.ActionResult;
+import com.exactpro.remotehand.Configuration;
+import com.exactpro.remotehand.IRemoteHandManager;
+import com.exactpro.remotehand.ScriptExecuteException;
+import com.exactpro.remotehand.rhdata.RhResponseCode;
+import com.exactpro.remotehand.rhdata.RhScriptResult;
+import com.exactpro.th2.hand.DriverEndpoint;
+import com.exactpro.th2.hand.RhConnectionManager;
+import com.exactpro.th2.hand.services.HandSessionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session which executes scripts without a driver: each action takes configured time, 
+ * can fail or produce a screenshot with configured probability. The manager passed to the session is never used to execute scripts.
+ */
+public class FakeSessionHandler extends HandSessionHandler {
+	private static final Logger logger = LoggerFactory.getLogger(FakeSessionHandler.class);
+	/** Header record of every action starts with quoted #action header */
+	private static final String ACTION_HEADER_RECORD = "\"#action\"";
+
+	private final FakeDriverSettings settings;
+	private final String screenshotExtension;
+	private final byte[] screenshot;
+	private volatile String script;
+	private volatile long scriptStartTime;
+
+	private FakeSessionHandler(String id, String targetServer, DriverEndpoint endpoint, IRemoteHandManager manager,
+	                           RhConnectionManager connectionManager, FakeDriverSettings settings, 
+	                           String screenshotExtension, byte[] screenshot) {
+		super(id, targetServer, endpoint, manager, connectionManager);
+		this.settings = settings;
+		this.screenshotExtension = screenshotExtension;
+		this.screenshot = screenshot;
+	}
+
+	/**
+	 * @return factory of fake sessions sharing one generated screenshot image
+	 */
+	public static RhConnectionManager.SessionHandlerFactory factory(FakeDriverSettings settings) {
+		String extension = Configuration.getInstance().getDefaultScreenWriter().getScreenshotExtension();
+		byte[] screenshot = settings.screenshotRate > 0 
+				? createScreenshot(extension, settings.screenshotWidth, settings.screenshotHeight) : null;
+		return (id, targetServer, endpoint, manager, connectionManager) -> new FakeSessionHandler(id, targetServer, endpoint, 
+				manager, connectionManager, settings, extension, screenshot);
+	}
+
+	@Override
+	public void startScript(String script) {
+		this.scriptStartTime = System.nanoTime();
+		this.script = script;
+	}
+
+	@Override
+	public RhScriptResult waitAndGet(int waitInSeconds) throws ScriptExecuteException {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		RhScriptResult result = new RhScriptResult();
+		result.setCode(RhResponseCode.SUCCESS.getCode());
+
+		long latencyMs = 0;
+		int actions = countActions(script);
+		for (int i = 0; i < actions; i++) {
+			latencyMs += settings.actionLatencyMs 
+					+ random.nextLong(-settings.actionLatencyJitterMs, settings.actionLatencyJitterMs + 1);
+			if (random.nextDouble() < settings.screenshotRate)
+				result.getScreenshotIds().add(new ActionResult("screenshot" + i, storeScreenshot()));
+			if (random.nextDouble() < settings.failureRate) {
+				result.setCode(RhResponseCode.EXECUTION_ERROR.getCode());
+				result.setErrorMessage("Fake failure of action " + i);
+				break;
+			}
+		}
+
+		long remainingMs = TimeUnit.NANOSECONDS.toMillis(scriptStartTime - System.nanoTime()) + latencyMs;
+		if (remainingMs > TimeUnit.SECONDS.toMillis(waitInSeconds))
+			throw new ScriptExecuteException("Timeout after " + waitInSeconds + " seconds waiting for result.");
+		try {
+			if (remainingMs > 0)
+				Thread.sleep(remainingMs);
+		} catch (InterruptedException e) {
+			logger.debug("Script execution for session '" + getId() + "' has been interrupted", e);
+			result.setCode(RhResponseCode.EXECUTION_ERROR.getCode());
+			result.setErrorMessage("Script execution has been interrupted");
+		}
+		return result;
+	}
+
+	private static int countActions(String script) {
+		int actions = 0;
+		for (int pos = script.indexOf(ACTION_HEADER_RECORD); pos >= 0; pos = script.indexOf(ACTION_HEADER_RECORD, pos + 1)) {
+			if (pos == 0 || script.charAt(pos - 1) == '\n')
+				actions++;
+		}
+		return actions;
+	}
+
+	/**
+	 * @return name of the screenshot file in RemoteHand screenshots directory, the hand deletes it after storing
+	 */
+	private String storeScreenshot() {
+		String name = getId().replace('/', '_') + '_' + UUID.randomUUID() + '.' + screenshotExtension;
+		try {
+			Path path = Configuration.SCREENSHOTS_DIR_PATH.resolve(name);
+			Files.createDirectories(path.getParent());
+			Files.write(path, screenshot);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot write fake screenshot " + name, e);
+		}
+		return name;
+	}
+
+	private static byte[] createScreenshot(String extension, int width, int height) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				// gradient with some noise is compressed like a real page, not like a flat image
+				image.setRGB(x, y, ((x * 255 / width) << 16) | ((y * 255 / height) << 8) | random.nextInt(32));
+			}
+		}
+
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			if (!ImageIO.write(image, extension, out))
+				throw new IllegalStateException("ImageIO has no writer for screenshot format '" + extension + "'");
+			return out.toByteArray();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot create fake screenshot", e);
+		}
+	}
+}
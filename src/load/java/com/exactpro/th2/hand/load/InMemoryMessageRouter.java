@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.load;
+
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.google.protobuf.MessageLite;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stand-in for RabbitMQ router: sent batches are serialized as by the real router and dropped, their number and size are counted.
+ * It is a proxy so it does not depend on the set of methods of {@link MessageRouter} in the used th2-common version.
+ */
+public class InMemoryMessageRouter {
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+
+	public long getBatches() {
+		return batches.sum();
+	}
+
+	public long getBytes() {
+		return bytes.sum();
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> MessageRouter<T> create() {
+		return (MessageRouter<T>) Proxy.newProxyInstance(MessageRouter.class.getClassLoader(),
+				new Class<?>[] { MessageRouter.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "send":
+						case "sendAll":
+							batches.increment();
+							bytes.add(((MessageLite) args[0]).toByteArray().length);
+							return null;
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return proxy == args[0];
+						case "toString":
+							return "InMemoryMessageRouter";
+						default:
+							return null;
+					}
+				});
+	}
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.load;
+
+import com.exactpro.th2.act.grpc.hand.RhActionList;
+import com.exactpro.th2.act.grpc.hand.RhActionsBatch;
+import com.exactpro.th2.act.grpc.hand.RhBatchGrpc;
+import com.exactpro.th2.act.grpc.hand.RhBatchResponse;
+import com.exactpro.th2.act.grpc.hand.RhSessionID;
+import com.exactpro.th2.act.grpc.hand.RhTargetServer;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
+import com.exactpro.th2.common.schema.factory.CommonFactory;
+import com.exactpro.th2.hand.Config;
+import com.exactpro.th2.hand.RhConnectionManager;
+import com.exactpro.th2.hand.builders.mstore.SequenceGenerator;
+import com.exactpro.th2.hand.schema.CustomConfiguration;
+import com.exactpro.th2.hand.services.HandBaseService;
+import com.exactpro.th2.hand.services.MessageHandler;
+import com.exactpro.th2.hand.services.estore.EventStoreSender;
+import com.exactpro.th2.hand.services.mstore.MessageStoreSender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives {@link HandBaseService} over in-process gRPC with concurrent sessions of fake RemoteHand drivers.
+ * RabbitMQ routers are replaced by in-memory ones, so it runs without network and external services.
+ * Arguments are passed as name=value, see {@link #DEFAULTS}. Prints throughput and latency percentiles of batches.
+ */
+public class LoadGenerator {
+	private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+	private static final String TARGET = "fake";
+	private static final String SERVER_NAME = "th2-hand-load";
+	private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+	private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+	static {
+		DEFAULTS.put("sessions", "10");             // number of concurrent sessions
+		DEFAULTS.put("batches", "100");             // number of measured batches of each session
+		DEFAULTS.put("warmupBatches", "10");        // number of not measured batches of each session
+		DEFAULTS.put("actions", "10");              // number of actions in a batch
+		DEFAULTS.put("type", "web");                // web or windows
+		DEFAULTS.put("latencyMs", "5");             // mean latency of an action
+		DEFAULTS.put("jitterMs", "2");              // latency of an action is random within latencyMs +/- jitterMs
+		DEFAULTS.put("failureRate", "0");           // probability of an action to fail
+		DEFAULTS.put("screenshotRate", "0.1");      // probability of an action to produce a screenshot
+		DEFAULTS.put("screenshotWidth", "1280");
+		DEFAULTS.put("screenshotHeight", "720");
+		DEFAULTS.put("threads", "0");               // batchExecutionThreads of the hand, number of sessions if 0
+	}
+
+	private final Map<String, String> options;
+	private final InMemoryMessageRouter messageRouter = new InMemoryMessageRouter();
+	private final InMemoryMessageRouter eventRouter = new InMemoryMessageRouter();
+	private final LongAdder failedBatches = new LongAdder();
+	private final LongAdder rejectedBatches = new LongAdder();
+	private final AtomicLong measurementStart = new AtomicLong();
+
+	private LoadGenerator(Map<String, String> options) {
+		this.options = options;
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>(DEFAULTS);
+		for (String arg : args) {
+			String[] pair = arg.split("=", 2);
+			if (pair.length != 2 || !DEFAULTS.containsKey(pair[0])) {
+				System.err.println("Unknown argument '" + arg + "', expected name=value with names " + DEFAULTS.keySet());
+				System.exit(1);
+			}
+			options.put(pair[0], pair[1]);
+		}
+		new LoadGenerator(options).run();
+	}
+
+	private void run() throws Exception {
+		int sessions = getInt("sessions");
+		FakeDriverSettings settings = new FakeDriverSettings(getInt("latencyMs"), getInt("jitterMs"),
+				getDouble("failureRate"), getDouble("screenshotRate"), getInt("screenshotWidth"), getInt("screenshotHeight"));
+		logger.info("Starting {} session(s) of fake '{}' driver with {}", sessions, options.get("type"), settings);
+
+		try (CommonFactory factory = new CommonFactory()) {
+			CustomConfiguration customConfiguration = createCustomConfiguration(sessions);
+			Config config = new Config(factory, customConfiguration);
+			MessageHandler messageHandler = new MessageHandler(config, new SequenceGenerator(System.currentTimeMillis()),
+					new RhConnectionManager(config, FakeSessionHandler.factory(settings)),
+					new MessageStoreSender(messageRouter.create(), customConfiguration),
+					new EventStoreSender(eventRouter.create(), config.getEventBatching()));
+			HandBaseService service = new HandBaseService();
+			service.init(messageHandler);
+
+			Server server = InProcessServerBuilder.forName(SERVER_NAME).addService(service).build().start();
+			ManagedChannel channel = InProcessChannelBuilder.forName(SERVER_NAME).build();
+			List<long[]> latencies;
+			long duration;
+			try {
+				latencies = runSessions(channel, sessions);
+				duration = System.nanoTime() - measurementStart.get();
+			} finally {
+				channel.shutdown().awaitTermination(30, TimeUnit.SECONDS);
+				server.shutdown().awaitTermination(30, TimeUnit.SECONDS);
+				// messages and events left in senders are flushed to routers
+				service.dispose();
+			}
+			report(latencies, duration);
+		}
+	}
+
+	private CustomConfiguration createCustomConfiguration(int sessions) {
+		Map<String, Object> driver = new HashMap<>();
+		driver.put("type", options.get("type"));
+		driver.put("url", "http://localhost:4444");
+		Map<String, Object> custom = new HashMap<>();
+		custom.put("driversMapping", Map.of(TARGET, driver));
+		int threads = getInt("threads");
+		custom.put("batchExecutionThreads", threads > 0 ? threads : sessions);
+		return new ObjectMapper().convertValue(custom, CustomConfiguration.class);
+	}
+
+	private List<long[]> runSessions(ManagedChannel channel, int sessions) throws Exception {
+		RhActionList actions = "windows".equals(options.get("type")) ? createWinActions(getInt("actions")) : createWebActions(getInt("actions"));
+		CyclicBarrier warmedUp = new CyclicBarrier(sessions, () -> measurementStart.set(System.nanoTime()));
+		ExecutorService executor = Executors.newFixedThreadPool(sessions);
+		try {
+			List<Future<long[]>> results = new ArrayList<>(sessions);
+			for (int i = 0; i < sessions; i++)
+				results.add(executor.submit(() -> runSession(RhBatchGrpc.newBlockingStub(channel), actions, warmedUp)));
+
+			List<long[]> latencies = new ArrayList<>(sessions);
+			for (Future<long[]> result : results)
+				latencies.add(result.get());
+			return latencies;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return latencies of measured batches in nanoseconds
+	 */
+	private long[] runSession(RhBatchGrpc.RhBatchBlockingStub stub, RhActionList actions, CyclicBarrier warmedUp) throws Exception {
+		RhSessionID sessionId;
+		try {
+			sessionId = stub.register(RhTargetServer.newBuilder().setTarget(TARGET).build());
+		} catch (RuntimeException e) {
+			// other sessions should not wait for this one forever
+			warmedUp.reset();
+			throw e;
+		}
+
+		try {
+			RhActionsBatch request = RhActionsBatch.newBuilder()
+					.setSessionId(sessionId)
+					.setEventName("Load test batch")
+					.setRhAction(actions)
+					.build();
+			for (int i = getInt("warmupBatches"); i > 0; i--)
+				execute(stub, request);
+			warmedUp.await();
+
+			long[] latencies = new long[getInt("batches")];
+			for (int i = 0; i < latencies.length; i++) {
+				long start = System.nanoTime();
+				execute(stub, request);
+				latencies[i] = System.nanoTime() - start;
+			}
+			return latencies;
+		} finally {
+			stub.unregister(sessionId);
+		}
+	}
+
+	private void execute(RhBatchGrpc.RhBatchBlockingStub stub, RhActionsBatch request) {
+		try {
+			RhBatchResponse response = stub.executeRhActionsBatch(request);
+			if (response.getScriptStatus() != RhBatchResponse.ScriptExecutionStatus.SUCCESS)
+				failedBatches.increment();
+		} catch (RuntimeException e) {
+			logger.debug("Batch is rejected", e);
+			rejectedBatches.increment();
+		}
+	}
+
+	private void report(List<long[]> sessionLatencies, long durationNanos) {
+		long[] latencies = sessionLatencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+		if (latencies.length == 0) {
+			System.out.println("No batches are measured");
+			return;
+		}
+
+		double seconds = durationNanos / 1e9;
+		System.out.printf("Sessions: %d, batches: %d of %d actions, failed: %d, rejected: %d, time: %.2f s%n",
+				sessionLatencies.size(), latencies.length, getInt("actions"), failedBatches.sum(), rejectedBatches.sum(), seconds);
+		System.out.printf("Throughput: %.1f batches/s, %.1f actions/s%n",
+				latencies.length / seconds, (double) latencies.length * getInt("actions") / seconds);
+		StringBuilder percentiles = new StringBuilder("Latency, ms:");
+		for (double percentile : PERCENTILES) {
+			int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+			percentiles.append(String.format(" p%s=%.2f", BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString(),
+					latencies[Math.max(index, 0)] / 1e6));
+		}
+		percentiles.append(String.format(" max=%.2f", latencies[latencies.length - 1] / 1e6));
+		System.out.println(percentiles);
+		System.out.printf("mstore: %d batches, %d bytes; estore: %d batches, %d bytes%n",
+				messageRouter.getBatches(), messageRouter.getBytes(), eventRouter.getBatches(), eventRouter.getBytes());
+	}
+
+	private static RhActionList createWebActions(int count) {
+		RhActionList.Builder actions = RhActionList.newBuilder();
+		for (int i = 0; i < count; i++) {
+			RhWebActions.Builder action = RhWebActions.newBuilder();
+			if (i % 2 == 0) {
+				action.setClick(RhActionsMessages.Click.newBuilder().setWait(5)
+						.setLocator(RhActionsMessages.Locator.XPATH).setMatcher("//button[" + i + "]"));
+			} else {
+				action.setSendKeys(RhActionsMessages.SendKeys.newBuilder().setWait(5)
+						.setLocator(RhActionsMessages.Locator.CSS_SELECTOR).setMatcher("#input-" + i).setText("text " + i));
+			}
+			actions.getWebBuilder().addWebActionList(action);
+		}
+		return actions.build();
+	}
+
+	private static RhActionList createWinActions(int count) {
+		RhActionList.Builder actions = RhActionList.newBuilder();
+		for (int i = 0; i < count; i++) {
+			RhWinActionsMessages.BaseWinParams baseParams = RhWinActionsMessages.BaseWinParams.newBuilder().setId("action" + i).build();
+			RhWinActionsMessages.WinLocator locator = RhWinActionsMessages.WinLocator.newBuilder()
+					.setLocator("accessibilityId").setMatcher("element" + i).build();
+			RhWinActions.Builder action = RhWinActions.newBuilder();
+			if (i % 2 == 0) {
+				action.setWinClick(RhWinActionsMessages.WinClick.newBuilder().setBaseParams(baseParams).addLocators(locator));
+			} else {
+				action.setWinSendText(RhWinActionsMessages.WinSendText.newBuilder().setBaseParams(baseParams)
+						.addLocators(locator).setText("text " + i));
+			}
+			actions.getWinBuilder().addWinActionList(action);
+		}
+		return actions.build();
+	}
+
+	private int getInt(String name) {
+		return Integer.parseInt(options.get(name));
+	}
+
+	private double getDouble(String name) {
+		return Double.parseDouble(options.get(name));
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2023 Exactpro (Exactpro Systems Limited)
+ * Copyright 2020-2026 Exactpro (Exactpro Systems Limited)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,22 +16,38 @@
 
 package com.exactpro.th2.hand;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
+import javax.imageio.ImageIO;
+
 import com.exactpro.remotehand.RemoteManagerType;
 import com.exactpro.th2.common.schema.factory.CommonFactory;
 import com.exactpro.th2.hand.schema.CustomConfiguration;
+import com.exactpro.th2.hand.schema.EventBatchingConfiguration;
+import com.exactpro.th2.hand.schema.ScreenshotStorageConfiguration;
+import com.exactpro.th2.hand.schema.ScreenshotTranscodingConfiguration;
+import com.exactpro.th2.hand.schema.SessionPoolConfiguration;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class Config {
+	private static final long MIN_FRAGMENTED_BATCH_LIMIT = 64 * 1024;
+	/** Range of priorities of actions batches, the highest is executed first */
+	public static final int MIN_BATCH_PRIORITY = 0, MAX_BATCH_PRIORITY = 9;
 
 	protected final CommonFactory factory;
 	protected final CustomConfiguration customConfiguration;
 
 	public Config(CommonFactory factory) throws ConfigurationException {
+		this(factory, factory.getCustomConfiguration(CustomConfiguration.class));
+	}
+
+	public Config(CommonFactory factory, CustomConfiguration customConfiguration) throws ConfigurationException {
 		this.factory = factory;
-		this.customConfiguration = factory.getCustomConfiguration(CustomConfiguration.class);
+		this.customConfiguration = customConfiguration;
 		if (customConfiguration == null) {
 			throw new ConfigurationException("Custom configuration is not found");
 		}
@@ -39,6 +55,66 @@ public class Config {
 		if (customConfiguration.getDriversMapping().isEmpty()) {
 			throw new ConfigurationException("Drivers mapping should be provided in custom config.");
 		}
+
+		if (customConfiguration.getBatchExecutionThreads() <= 0) {
+			throw new ConfigurationException("batchExecutionThreads should be positive.");
+		}
+
+		if (customConfiguration.getBatchExecutionQueueSize() < 0) {
+			throw new ConfigurationException("batchExecutionQueueSize should not be negative.");
+		}
+
+		if (customConfiguration.getVirtualBatchExecutionLimit() < 0) {
+			throw new ConfigurationException("virtualBatchExecutionLimit should not be negative.");
+		}
+
+		if (customConfiguration.getScriptTemplateCacheSize() < 0) {
+			throw new ConfigurationException("scriptTemplateCacheSize should not be negative.");
+		}
+
+		if (customConfiguration.getSessionQueueSize() < 0 || customConfiguration.getSessionQueueTimeoutSec() < 0) {
+			throw new ConfigurationException("sessionQueueSize and sessionQueueTimeoutSec should not be negative.");
+		}
+
+		if (customConfiguration.getBatchPriorityAgingSec() < 0) {
+			throw new ConfigurationException("batchPriorityAgingSec should not be negative.");
+		}
+
+		SessionPoolConfiguration sessionPool = customConfiguration.getSessionPool();
+		if (sessionPool.getSize() < 0 || sessionPool.getMaxIdleTimeSec() <= 0) {
+			throw new ConfigurationException("Session pool size should not be negative and maxIdleTimeSec should be positive.");
+		}
+
+		if (customConfiguration.getMessageBatchLingerMs() < 0 || customConfiguration.getMessageQueueSize() <= 0) {
+			throw new ConfigurationException("message-batch-linger-ms should not be negative and message-queue-size should be positive.");
+		}
+
+		EventBatchingConfiguration eventBatching = customConfiguration.getEventBatching();
+		if (eventBatching.getMaxEvents() <= 0 || eventBatching.getMaxBytes() <= 0 || eventBatching.getQueueSize() <= 0
+				|| eventBatching.getLingerMs() < 0) {
+			throw new ConfigurationException("Event batching limits should be positive and lingerMs should not be negative.");
+		}
+
+		ScreenshotStorageConfiguration screenshotStorage = customConfiguration.getScreenshotStorage();
+		if (screenshotStorage.getWorkers() <= 0 || screenshotStorage.getQueueSize() <= 0 
+				|| screenshotStorage.getDeduplicationCacheSize() <= 0) {
+			throw new ConfigurationException("Screenshot storage workers, queueSize and deduplicationCacheSize should be positive.");
+		}
+
+		if (screenshotStorage.isFragmentOversized() && customConfiguration.getMessageBatchLimit() <= MIN_FRAGMENTED_BATCH_LIMIT) {
+			throw new ConfigurationException("message-batch-limit should be greater than " + MIN_FRAGMENTED_BATCH_LIMIT 
+					+ " to store oversized screenshots by fragments.");
+		}
+
+		ScreenshotTranscodingConfiguration transcoding = screenshotStorage.getTranscoding();
+		if (transcoding.isEnabled()) {
+			if (!ImageIO.getImageWritersByFormatName(transcoding.getFormat()).hasNext()) {
+				throw new ConfigurationException("Screenshot transcoding format '" + transcoding.getFormat() + "' is not supported.");
+			}
+			if (transcoding.getQuality() < 0 || transcoding.getQuality() > 1 || transcoding.getMaxWidth() < 0 || transcoding.getMaxHeight() < 0) {
+				throw new ConfigurationException("Screenshot transcoding quality should be from 0 to 1, maxWidth and maxHeight should not be negative.");
+			}
+		}
 	}
 
 	public CommonFactory getFactory() {
@@ -69,19 +145,126 @@ public class Config {
 		return customConfiguration.getScreenshotSessionAlias();
 	}
 
+	public int getBatchExecutionThreads() {
+		return customConfiguration.getBatchExecutionThreads();
+	}
+
+	public int getBatchExecutionQueueSize() {
+		return customConfiguration.getBatchExecutionQueueSize();
+	}
+
+	public boolean isUseVirtualThreads() {
+		return customConfiguration.isUseVirtualThreads();
+	}
+
+	public int getVirtualBatchExecutionLimit() {
+		return customConfiguration.getVirtualBatchExecutionLimit();
+	}
+
+	public int getScriptTemplateCacheSize() {
+		return customConfiguration.getScriptTemplateCacheSize();
+	}
+
+	public int getSessionIdleTimeoutSec() {
+		return customConfiguration.getSessionIdleTimeoutSec();
+	}
+
+	public int getMaxSessionsPerTarget() {
+		return customConfiguration.getMaxSessionsPerTarget();
+	}
+
+	public int getSessionRegisterTimeoutSec() {
+		return customConfiguration.getSessionRegisterTimeoutSec();
+	}
+
+	public int getSessionQueueSize() {
+		return customConfiguration.getSessionQueueSize();
+	}
+
+	public int getSessionQueueTimeoutSec() {
+		return customConfiguration.getSessionQueueTimeoutSec();
+	}
+
+	public String getBatchPriorityKey() {
+		return customConfiguration.getBatchPriorityKey();
+	}
+
+	public int getBatchPriorityAgingSec() {
+		return customConfiguration.getBatchPriorityAgingSec();
+	}
+
+	public SessionPoolConfiguration getSessionPool() {
+		return customConfiguration.getSessionPool();
+	}
+
+	public EventBatchingConfiguration getEventBatching() {
+		return customConfiguration.getEventBatching();
+	}
+
+	public ScreenshotStorageConfiguration getScreenshotStorage() {
+		return customConfiguration.getScreenshotStorage();
+	}
+
+	public static int clampBatchPriority(int priority) {
+		return Math.max(MIN_BATCH_PRIORITY, Math.min(MAX_BATCH_PRIORITY, priority));
+	}
+
 	public static class DriverMapping {
+		private static final int DEFAULT_MAX_WAITING_BATCHES = 1000;
+
 		public final RemoteManagerType type;
 		public final String url;
+		public final List<String> urls;
+		public final Balancing balancing;
+		/** Maximum number of batches executed on the target at the same time, 0 means no limit */
+		public final int maxConcurrentBatches;
+		/** Maximum number of batches waiting for a free slot of the target if maxConcurrentBatches is set */
+		public final int maxWaitingBatches;
+		/** Priority of batches of the target's sessions if it is not set in the batch */
+		public final int priority;
 
 		@JsonCreator
 		public DriverMapping(
 				@JsonProperty(value = "type", required = true) String type,
-				@JsonProperty(value = "url", required = true) String url
+				@JsonProperty(value = "url") String url,
+				@JsonProperty(value = "urls") List<String> urls,
+				@JsonProperty(value = "balancing") Balancing balancing,
+				@JsonProperty(value = "maxConcurrentBatches") Integer maxConcurrentBatches,
+				@JsonProperty(value = "maxWaitingBatches") Integer maxWaitingBatches,
+				@JsonProperty(value = "priority") Integer priority
 		) {
 			this.type = RemoteManagerType.getByLabel(type);
 			if (this.type == null)
 				throw new IllegalArgumentException("Unrecognized remote manager type: " + type);
-			this.url = url;
+			List<String> allUrls = new ArrayList<>();
+			if (url != null)
+				allUrls.add(url);
+			if (urls != null)
+				urls.stream().filter(u -> !allUrls.contains(u)).forEach(allUrls::add);
+			if (allUrls.isEmpty())
+				throw new IllegalArgumentException("Either url or urls should be specified for driver");
+			this.url = allUrls.get(0);
+			this.urls = Collections.unmodifiableList(allUrls);
+			this.balancing = balancing == null ? Balancing.LEAST_SESSIONS : balancing;
+			this.maxConcurrentBatches = maxConcurrentBatches == null ? 0 : maxConcurrentBatches;
+			if (this.maxConcurrentBatches < 0)
+				throw new IllegalArgumentException("maxConcurrentBatches should not be negative");
+			this.maxWaitingBatches = maxWaitingBatches == null ? DEFAULT_MAX_WAITING_BATCHES : maxWaitingBatches;
+			if (this.maxWaitingBatches <= 0)
+				throw new IllegalArgumentException("maxWaitingBatches should be positive");
+			this.priority = priority == null ? MIN_BATCH_PRIORITY : priority;
+			if (this.priority != clampBatchPriority(this.priority))
+				throw new IllegalArgumentException("priority should be from " + MIN_BATCH_PRIORITY + " to " + MAX_BATCH_PRIORITY);
 		}
 	}
+
+	public enum Balancing {
+		/** New session is placed on the driver with the fewest active sessions */
+		LEAST_SESSIONS,
+		/** 
+		 * New session is placed on the driver with the lowest recent script execution time. 
+		 * Whole scripts are measured, so drivers are compared fairly only if they get similar workloads
+		 */
+		LEAST_LATENCY
+	}
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Driver URL of a target server with its load counters used to place new sessions
+ */
+public class DriverEndpoint {
+	private static final double LATENCY_SMOOTHING = 0.2;
+
+	private final String url;
+	private final AtomicInteger activeSessions = new AtomicInteger();
+	private volatile double latencyMillis = 0;
+
+	public DriverEndpoint(String url) {
+		this.url = url;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public int getActiveSessions() {
+		return activeSessions.get();
+	}
+
+	/**
+	 * @return exponentially weighted average of recent script execution times. 
+	 * Scripts are not normalized by their actions, so the value compares drivers only if their sessions 
+	 * execute similar workloads
+	 */
+	public double getLatencyMillis() {
+		return latencyMillis;
+	}
+
+	public void onSessionOpened() {
+		activeSessions.incrementAndGet();
+	}
+
+	public void onSessionClosed() {
+		activeSessions.decrementAndGet();
+	}
+
+	public void recordLatency(long millis) {
+		// races between concurrent updates only lose a sample, which is acceptable for the average
+		double current = latencyMillis;
+		latencyMillis = current == 0 ? millis : current + LATENCY_SMOOTHING * (millis - current);
+	}
+
+	@Override
+	public String toString() {
+		return url;
+	}
+}
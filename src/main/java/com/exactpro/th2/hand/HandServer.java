@@ -17,6 +17,7 @@
 package com.exactpro.th2.hand;
 
 import com.exactpro.remotehand.sessions.SessionWatcher;
+import com.exactpro.th2.hand.builders.mstore.SequenceGenerator;
 import com.exactpro.th2.hand.services.MessageHandler;
 import io.grpc.Server;
 import org.slf4j.Logger;
@@ -27,7 +28,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.ServiceLoader;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
 
 public class HandServer {
 	private final Logger logger = LoggerFactory.getLogger(getClass());
@@ -39,7 +39,7 @@ public class HandServer {
 
 	public HandServer(Config config, long startSequences) throws Exception {
 		this.config = config;
-		this.messageHandler = new MessageHandler(config, new AtomicLong(startSequences));
+		this.messageHandler = new MessageHandler(config, new SequenceGenerator(startSequences));
 		this.services = new ArrayList<>();
 		this.server = buildServer();
 	}
@@ -1,5 +1,5 @@
 /*
- *  Copyright 2020-2023 Exactpro (Exactpro Systems Limited)
+ *  Copyright 2020-2026 Exactpro (Exactpro Systems Limited)
  *
  *  Licensed under the Apache License, Version 2.0 (the "License");
  *  you may not use this file except in compliance with the License.
@@ -17,28 +17,89 @@
 package com.exactpro.th2.hand;
 
 import com.exactpro.remotehand.IRemoteHandManager;
+import com.exactpro.remotehand.RemoteManagerType;
 import com.exactpro.remotehand.RhConfigurationException;
 import com.exactpro.remotehand.grid.GridRemoteHandManager;
+import com.exactpro.remotehand.rhdata.RhScriptResult;
+import com.exactpro.th2.act.grpc.hand.RhActionList;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.Wait;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.WinWait;
+import com.exactpro.th2.hand.builders.script.ScriptBuilder;
 import com.exactpro.th2.hand.services.HandBaseService;
 import com.exactpro.th2.hand.services.HandSessionHandler;
+import io.prometheus.client.Gauge;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 public class RhConnectionManager {
 	private static final Logger logger = LoggerFactory.getLogger(RhConnectionManager.class);
+	private static final long MAX_REAPER_PERIOD_SEC = 30;
+	private static final long POOL_CHECK_INTERVAL_MS = 100;
+	/** Targets are keys of drivers mapping, so number of series is limited by configuration */
+	private static final Gauge ACTIVE_SESSIONS = Gauge.build()
+			.name("th2_hand_active_sessions")
+			.help("Number of registered sessions by target of drivers mapping")
+			.labelNames("target")
+			.register();
 
 	private final Map<String, HandSessionHandler> sessions = new ConcurrentHashMap<>();
+	private final Map<String, List<DriverEndpoint>> endpoints = new HashMap<>();
 	private final GridRemoteHandManager gridRemoteHandManager;
 	private final Config config;
+	private final RhSessionPool sessionPool;
+	private final ScriptBuilder warmUpScriptBuilder = new ScriptBuilder();
+	private final Map<String, Semaphore> sessionPermits = new HashMap<>();
+	private final ScheduledExecutorService idleSessionsReaper;
+	private final SessionHandlerFactory sessionHandlerFactory;
 
 	public RhConnectionManager(Config config) {
+		this(config, HandSessionHandler::new);
+	}
+
+	/**
+	 * @param sessionHandlerFactory creates handlers of new sessions, e.g. fake ones executing scripts without drivers
+	 */
+	public RhConnectionManager(Config config, SessionHandlerFactory sessionHandlerFactory) {
 		this.config = config;
+		this.sessionHandlerFactory = sessionHandlerFactory;
 		gridRemoteHandManager = new GridRemoteHandManager();
 		gridRemoteHandManager.createConfigurations(null, config.getRhOptions());
+		config.getDriversMapping().forEach((target, mapping) -> endpoints.put(target, 
+				mapping.urls.stream().map(DriverEndpoint::new).collect(Collectors.toList())));
+		if (config.getMaxSessionsPerTarget() > 0) {
+			config.getDriversMapping().keySet().forEach(target -> 
+					sessionPermits.put(target, new Semaphore(config.getMaxSessionsPerTarget(), true)));
+		}
+		sessionPool = new RhSessionPool(this, config.getSessionPool(), config.getDriversMapping().keySet());
+		sessionPool.start();
+		idleSessionsReaper = startIdleSessionsReaper(config.getSessionIdleTimeoutSec());
+	}
+
+	public Config getConfig() {
+		return config;
+	}
+
+	/**
+	 * @return handler of the registered session or null
+	 */
+	public HandSessionHandler findSessionHandler(String sessionId) {
+		return sessions.get(sessionId);
 	}
 
 	public HandSessionHandler getSessionHandler(String sessionId) throws IllegalArgumentException {
@@ -48,17 +109,20 @@ public class RhConnectionManager {
 		return sessionHandler;
 	}
 
-	public HandSessionHandler createSessionHandler(String targetServer) throws RhConfigurationException {
-		Config.DriverMapping driverSettings = config.getDriversMapping().get(targetServer);
-		if (driverSettings == null) {
+	/**
+	 * Takes a ready session from the pool or opens a new one. 
+	 * If the target already has the maximum number of sessions, the calling (gRPC) thread is blocked 
+	 * for up to sessionRegisterTimeoutSec waiting for a free slot or a session added to the pool.
+	 */
+	public HandSessionHandler createSessionHandler(String targetServer) throws RhConfigurationException, HandException {
+		if (!config.getDriversMapping().containsKey(targetServer)) {
 			throw new RhConfigurationException("Unrecognized targetServer: " + targetServer);
 		}
 
-		String sessionId = generateSessionId();
-		IRemoteHandManager remoteHandManager = gridRemoteHandManager.getRemoteHandManager(driverSettings.type);
-		HandSessionHandler handSessionHandler = new HandSessionHandler(sessionId, remoteHandManager, this);
-		gridRemoteHandManager.saveSession(sessionId, driverSettings.url);
-		sessions.put(sessionId, handSessionHandler);
+		HandSessionHandler handSessionHandler = leaseOrOpenSession(targetServer);
+		handSessionHandler.onRegistered();
+		sessions.put(handSessionHandler.getId(), handSessionHandler);
+		ACTIVE_SESSIONS.labels(targetServer).inc();
 
 		return handSessionHandler;
 	}
@@ -69,19 +133,185 @@ public class RhConnectionManager {
 			logger.warn("Session handler for session '{}', requested to close, is not registered", sessionId);
 			return;
 		}
+		onSessionUnregistered(sessionHandler);
+		sessionHandler.onUnregistered();
 		sessionHandler.close();
 		logger.info("Closed session <{}>", sessionId);
 	}
 
+	/**
+	 * Called by session handler when it is closed by request or by RemoteHand session watcher
+	 */
+	public void onSessionClosed(HandSessionHandler sessionHandler) {
+		if (sessions.remove(sessionHandler.getId(), sessionHandler))
+			onSessionUnregistered(sessionHandler);
+		sessionPool.remove(sessionHandler);
+		sessionHandler.getEndpoint().onSessionClosed();
+	}
+
 	public void dispose() {
+		if (idleSessionsReaper != null)
+			idleSessionsReaper.shutdownNow();
+		sessionPool.close();
 		for (String id : sessions.keySet()) {
 			HandSessionHandler sessionHandler = sessions.remove(id);
-			sessionHandler.close();
+			if (sessionHandler != null) {
+				ACTIVE_SESSIONS.labels(sessionHandler.getTargetServer()).dec();
+				sessionHandler.close();
+			}
 		}
 		gridRemoteHandManager.clearDriverPool();
 	}
 
+	HandSessionHandler openSession(String targetServer) throws RhConfigurationException {
+		Config.DriverMapping driverSettings = config.getDriversMapping().get(targetServer);
+		if (driverSettings == null) {
+			throw new RhConfigurationException("Unrecognized targetServer: " + targetServer);
+		}
+
+		String sessionId = generateSessionId();
+		DriverEndpoint endpoint = selectEndpoint(targetServer, driverSettings.balancing);
+		IRemoteHandManager remoteHandManager = gridRemoteHandManager.getRemoteHandManager(driverSettings.type);
+		HandSessionHandler handSessionHandler = sessionHandlerFactory.create(sessionId, targetServer, endpoint, remoteHandManager, this);
+		gridRemoteHandManager.saveSession(sessionId, endpoint.getUrl());
+		endpoint.onSessionOpened();
+		logger.debug("Session <{}> for target '{}' is placed on {}", sessionId, targetServer, endpoint);
+		return handSessionHandler;
+	}
+
+	/**
+	 * Sessions in the pool hold slots of their target, so a leased session is registered without a new slot. 
+	 * Otherwise waits for a free slot if the target has the maximum number of sessions, fails if the wait timeout is not positive. 
+	 * The pool is checked again every {@link #POOL_CHECK_INTERVAL_MS} while waiting, as it may take the slot freed first. 
+	 * The calling thread is blocked while waiting.
+	 */
+	private HandSessionHandler leaseOrOpenSession(String targetServer) throws RhConfigurationException, HandException {
+		Semaphore permits = sessionPermits.get(targetServer);
+		int timeout = config.getSessionRegisterTimeoutSec();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+		while (true) {
+			HandSessionHandler handSessionHandler = sessionPool.lease(targetServer);
+			if (handSessionHandler != null) {
+				logger.debug("Session <{}> is taken from pool", handSessionHandler.getId());
+				return handSessionHandler;
+			}
+
+			long remaining = deadline - System.nanoTime();
+			try {
+				if (permits == null || permits.tryAcquire(sessionPool.isEnabled() 
+						? Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POOL_CHECK_INTERVAL_MS)) : remaining, TimeUnit.NANOSECONDS))
+					break;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new HandException("Waiting for free session slot of target '" + targetServer + "' has been interrupted", e);
+			}
+			if (deadline - System.nanoTime() <= 0) {
+				throw new HandException("Target '" + targetServer + "' already has maximum number of sessions (" 
+						+ config.getMaxSessionsPerTarget() + ")" + (timeout > 0 ? ", waited " + timeout + " seconds" : ""));
+			}
+		}
+
+		try {
+			return openSession(targetServer);
+		} catch (RhConfigurationException | RuntimeException e) {
+			releaseSessionPermit(targetServer);
+			throw e;
+		}
+	}
+
+	/**
+	 * Takes a free slot of the target for a session of the pool, never waits and never takes a slot 
+	 * a registration is waiting for
+	 */
+	boolean tryAcquireSessionPermit(String targetServer) {
+		Semaphore permits = sessionPermits.get(targetServer);
+		try {
+			return permits == null || permits.tryAcquire(0, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void onSessionUnregistered(HandSessionHandler sessionHandler) {
+		releaseSessionPermit(sessionHandler.getTargetServer());
+		ACTIVE_SESSIONS.labels(sessionHandler.getTargetServer()).dec();
+		sessionPool.scheduleRefill(sessionHandler.getTargetServer());
+	}
+
+	void releaseSessionPermit(String targetServer) {
+		Semaphore permits = sessionPermits.get(targetServer);
+		if (permits != null)
+			permits.release();
+	}
+
+	private ScheduledExecutorService startIdleSessionsReaper(int idleTimeoutSec) {
+		if (idleTimeoutSec <= 0)
+			return null;
+
+		long period = Math.min(idleTimeoutSec, MAX_REAPER_PERIOD_SEC);
+		ScheduledExecutorService reaper = Executors.newSingleThreadScheduledExecutor(
+				new BasicThreadFactory.Builder().namingPattern("hand-idle-sessions-reaper-%d").daemon(true).build());
+		reaper.scheduleWithFixedDelay(() -> closeIdleSessions(idleTimeoutSec), period, period, TimeUnit.SECONDS);
+		logger.info("Sessions idle for more than {} seconds will be closed", idleTimeoutSec);
+		return reaper;
+	}
+
+	private void closeIdleSessions(int idleTimeoutSec) {
+		long minLastActivity = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(idleTimeoutSec);
+		for (HandSessionHandler sessionHandler : sessions.values()) {
+			// the claim rejects batches submitted later, so the session is not closed under a new batch
+			if (!sessionHandler.claimIfIdle(minLastActivity))
+				continue;
+			String sessionId = sessionHandler.getId();
+			if (sessions.remove(sessionId, sessionHandler)) {
+				onSessionUnregistered(sessionHandler);
+				logger.warn("Closing session <{}> idle for more than {} seconds", sessionId, idleTimeoutSec);
+				try {
+					sessionHandler.close();
+				} catch (Exception e) {
+					logger.error("Error while closing idle session <{}>", sessionId, e);
+				}
+			}
+		}
+	}
+
+	private DriverEndpoint selectEndpoint(String targetServer, Config.Balancing balancing) {
+		List<DriverEndpoint> targetEndpoints = endpoints.get(targetServer);
+		if (targetEndpoints.size() == 1)
+			return targetEndpoints.get(0);
+
+		Comparator<DriverEndpoint> comparator = balancing == Config.Balancing.LEAST_LATENCY
+				? Comparator.comparingDouble(DriverEndpoint::getLatencyMillis).thenComparingInt(DriverEndpoint::getActiveSessions)
+				: Comparator.comparingInt(DriverEndpoint::getActiveSessions).thenComparingDouble(DriverEndpoint::getLatencyMillis);
+		return Collections.min(targetEndpoints, comparator);
+	}
+
+	/**
+	 * Drivers start lazily on the first script, so a trivial wait is executed to get the session ready
+	 */
+	void warmUp(HandSessionHandler sessionHandler) throws Exception {
+		Config.DriverMapping driverSettings = config.getDriversMapping().get(sessionHandler.getTargetServer());
+		RhActionList.Builder actions = RhActionList.newBuilder();
+		if (driverSettings.type == RemoteManagerType.WINDOWS) {
+			actions.getWinBuilder().addWinActionList(RhWinActions.newBuilder().setWinWait(WinWait.newBuilder().setMillis(0)));
+		} else {
+			actions.getWebBuilder().addWebActionList(RhWebActions.newBuilder().setWait(Wait.newBuilder().setSeconds(0)));
+		}
+		String script = warmUpScriptBuilder.buildScript(actions.build());
+		sessionHandler.startScript(script);
+		RhScriptResult result = sessionHandler.waitAndGet(config.getResponseTimeout());
+		if (!result.isSuccess())
+			throw new HandException("Warm up of session '" + sessionHandler.getId() + "' failed: " + result.getErrorMessage());
+	}
+
 	private String generateSessionId() {
 		return HandBaseService.RH_SESSION_PREFIX + UUID.randomUUID();
 	}
-}
\ No newline at end of file
+
+	@FunctionalInterface
+	public interface SessionHandlerFactory {
+		HandSessionHandler create(String sessionId, String targetServer, DriverEndpoint endpoint,
+		                          IRemoteHandManager remoteHandManager, RhConnectionManager connectionManager);
+	}
+}
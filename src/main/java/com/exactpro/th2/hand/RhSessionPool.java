@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand;
+
+import com.exactpro.th2.hand.schema.SessionPoolConfiguration;
+import com.exactpro.th2.hand.services.HandSessionHandler;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps ready sessions for each target server, so registration does not wait for a driver to start.
+ * Sessions are created and warmed up by a single background thread. 
+ * Sessions idle in the pool longer than configured are closed and replaced with new ones. 
+ * Each session in the pool holds a slot of its target limited by maxSessionsPerTarget, 
+ * the slot passes to the registration taking the session. Whoever removes a session from the pool owns its slot.
+ */
+public class RhSessionPool implements AutoCloseable {
+	private static final Logger logger = LoggerFactory.getLogger(RhSessionPool.class);
+	private static final long MAX_EVICTION_PERIOD_SEC = 60;
+
+	private final RhConnectionManager connectionManager;
+	private final SessionPoolConfiguration configuration;
+	private final Collection<String> targetServers;
+	private final Map<String, Deque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService executor;
+
+	public RhSessionPool(RhConnectionManager connectionManager, SessionPoolConfiguration configuration,
+	                     Collection<String> targetServers) {
+		this.connectionManager = connectionManager;
+		this.configuration = configuration;
+		this.targetServers = targetServers;
+		this.executor = isEnabled() ? Executors.newSingleThreadScheduledExecutor(
+				new BasicThreadFactory.Builder().namingPattern("hand-session-pool-%d").daemon(true).build()) : null;
+	}
+
+	public boolean isEnabled() {
+		return configuration.getSize() > 0;
+	}
+
+	public void start() {
+		if (!isEnabled())
+			return;
+
+		logger.info("Session pool keeps {} session(s) for each of targets {}", configuration.getSize(), targetServers);
+		targetServers.forEach(this::scheduleRefill);
+		long evictionPeriod = Math.min(configuration.getMaxIdleTimeSec(), MAX_EVICTION_PERIOD_SEC);
+		executor.scheduleWithFixedDelay(this::evictIdleSessions, evictionPeriod, evictionPeriod, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * @return ready session for the target server or null if there is no such session in the pool
+	 */
+	public HandSessionHandler lease(String targetServer) {
+		if (!isEnabled())
+			return null;
+
+		Deque<PooledSession> sessions = getIdleSessions(targetServer);
+		PooledSession session;
+		while ((session = sessions.pollFirst()) != null) {
+			if (!session.handler.isClosed())
+				break;
+			connectionManager.releaseSessionPermit(targetServer);
+		}
+		scheduleRefill(targetServer);
+
+		if (session == null) {
+			logger.debug("There are no ready sessions for target '{}' in pool", targetServer);
+			return null;
+		}
+		return session.handler;
+	}
+
+	/**
+	 * Called when the session is closed, e.g. by RemoteHand session watcher
+	 */
+	public void remove(HandSessionHandler handler) {
+		Deque<PooledSession> sessions = idleSessions.get(handler.getTargetServer());
+		if (sessions != null && sessions.removeIf(session -> session.handler == handler))
+			connectionManager.releaseSessionPermit(handler.getTargetServer());
+	}
+
+	/**
+	 * Called when a slot of the target is freed, so the pool can take it
+	 */
+	void scheduleRefill(String targetServer) {
+		if (!isEnabled())
+			return;
+		try {
+			executor.execute(() -> refill(targetServer));
+		} catch (Exception e) {
+			logger.warn("Could not schedule refilling of session pool for target '{}'", targetServer, e);
+		}
+	}
+
+	private Deque<PooledSession> getIdleSessions(String targetServer) {
+		return idleSessions.computeIfAbsent(targetServer, t -> new ConcurrentLinkedDeque<>());
+	}
+
+	private void refill(String targetServer) {
+		Deque<PooledSession> sessions = getIdleSessions(targetServer);
+		while (sessions.size() < configuration.getSize() && !executor.isShutdown()) {
+			if (!connectionManager.tryAcquireSessionPermit(targetServer)) {
+				logger.debug("Target '{}' has maximum number of sessions, pool is not refilled", targetServer);
+				return;
+			}
+
+			HandSessionHandler handler = null;
+			try {
+				handler = connectionManager.openSession(targetServer);
+				connectionManager.warmUp(handler);
+			} catch (Exception e) {
+				logger.error("Could not create session for target '{}' in pool", targetServer, e);
+				if (handler != null)
+					closeSession(handler);
+				connectionManager.releaseSessionPermit(targetServer);
+				return;
+			}
+			sessions.offerFirst(new PooledSession(handler));
+			logger.debug("Session <{}> for target '{}' is added to pool", handler.getId(), targetServer);
+		}
+	}
+
+	private void evictIdleSessions() {
+		long minIdleSince = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(configuration.getMaxIdleTimeSec());
+		idleSessions.forEach((targetServer, sessions) -> {
+			PooledSession session;
+			while ((session = sessions.peekLast()) != null 
+					&& (session.idleSince < minIdleSince || session.handler.isClosed())) {
+				if (sessions.removeLastOccurrence(session)) {
+					logger.debug("Session <{}> is evicted from pool", session.handler.getId());
+					closeSession(session.handler);
+					connectionManager.releaseSessionPermit(targetServer);
+				}
+			}
+			refill(targetServer);
+		});
+	}
+
+	@Override
+	public void close() {
+		if (!isEnabled())
+			return;
+
+		executor.shutdownNow();
+		idleSessions.forEach((targetServer, sessions) -> {
+			PooledSession session;
+			while ((session = sessions.pollFirst()) != null) {
+				closeSession(session.handler);
+				connectionManager.releaseSessionPermit(targetServer);
+			}
+		});
+	}
+
+	private void closeSession(HandSessionHandler handler) {
+		try {
+			handler.close();
+		} catch (Exception e) {
+			logger.error("Error while closing session <{}> of pool", handler.getId(), e);
+		}
+	}
+
+	private static class PooledSession {
+		private final HandSessionHandler handler;
+		private final long idleSince = System.currentTimeMillis();
+
+		private PooledSession(HandSessionHandler handler) {
+			this.handler = handler;
+		}
+	}
+}
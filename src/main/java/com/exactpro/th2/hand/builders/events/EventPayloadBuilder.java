@@ -19,11 +19,14 @@ package com.exactpro.th2.hand.builders.events;
 import com.exactpro.th2.hand.messages.eventpayload.EventPayloadMessage;
 import com.exactpro.th2.hand.messages.eventpayload.EventPayloadTable;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.protobuf.ByteString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -32,6 +35,9 @@ import java.util.Map;
 public class EventPayloadBuilder {
 
 	private static final Logger logger = LoggerFactory.getLogger(EventPayloadBuilder.class);
+	private static final int INITIAL_BUFFER_SIZE = 1024;
+	// writer is immutable and thread-safe, its serializers are resolved once and cached for all events
+	private static final ObjectWriter WRITER = new ObjectMapper().writerFor(new TypeReference<List<Object>>() {});
 	
 	private final List<Object> data;
 	
@@ -59,15 +65,25 @@ public class EventPayloadBuilder {
 
 	public byte[] toByteArray() {
 		try {
-			return new ObjectMapper().writeValueAsBytes(this.data);
+			return WRITER.writeValueAsBytes(this.data);
 		} catch (JsonProcessingException e) {
 			logger.error("Error while creating body", e);
 			return e.getMessage().getBytes(StandardCharsets.UTF_8);
 		}
 	}
 
+	/**
+	 * Serializes the payload straight into buffers of ByteString, filled buffers become parts of the result without copy
+	 */
 	public ByteString toByteString() {
-		return ByteString.copyFrom(toByteArray());
+		ByteString.Output output = ByteString.newOutput(INITIAL_BUFFER_SIZE);
+		try {
+			WRITER.writeValue(output, this.data);
+			return output.toByteString();
+		} catch (IOException e) {
+			logger.error("Error while creating body", e);
+			return ByteString.copyFromUtf8(e.getMessage());
+		}
 	}
 	
 }
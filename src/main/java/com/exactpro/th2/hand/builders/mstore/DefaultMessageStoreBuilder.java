@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2023 Exactpro (Exactpro Systems Limited)
+ * Copyright 2020-2026 Exactpro (Exactpro Systems Limited)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,16 +26,17 @@ import com.exactpro.th2.common.schema.factory.CommonFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 
 import static com.exactpro.th2.hand.utils.Utils.getTimestamp;
 
@@ -43,12 +44,12 @@ public final class DefaultMessageStoreBuilder implements MessageStoreBuilder<Raw
 	private static final Logger logger = LoggerFactory.getLogger(DefaultMessageStoreBuilder.class);
 
 	private final ObjectMapper mapper = new ObjectMapper();
-	private final AtomicLong seqNum;
+	private final SequenceGenerator sequenceGenerator;
 	private final CommonFactory factory;
 
-	public DefaultMessageStoreBuilder(CommonFactory factory, AtomicLong seqNum) {
+	public DefaultMessageStoreBuilder(CommonFactory factory, SequenceGenerator sequenceGenerator) {
 		this.factory = factory;
-		this.seqNum = seqNum;
+		this.sequenceGenerator = sequenceGenerator;
 	}
 
 	@Override
@@ -64,17 +65,41 @@ public final class DefaultMessageStoreBuilder implements MessageStoreBuilder<Raw
 
 	@Override
 	public RawMessage buildMessage(byte[] bytes, Direction direction, String sessionId, String sessionGroup) {
-		RawMessageMetadata messageMetadata = buildMetaData(direction, sessionId, sessionGroup, null);
+		RawMessageMetadata messageMetadata = buildMetaData(direction, sessionId, sessionGroup, null, 
+				sequenceGenerator.next(sessionId, direction));
 		return RawMessage.newBuilder().setMetadata(messageMetadata).setBody(ByteString.copyFrom(bytes)).build();
 	}
 
 	@Override
 	public RawMessage buildMessageFromFile(Path path, Direction direction, String sessionId, String sessionGroup) {
+		return buildMessageFromFile(path, buildScreenshotMetadata(direction, sessionId, sessionGroup, 1).get(0));
+	}
+
+	/**
+	 * Allocates IDs of screenshot messages with consecutive sequences, so they can be referenced before the file is read
+	 */
+	public List<RawMessageMetadata> buildScreenshotMetadata(Direction direction, String sessionId, String sessionGroup, int count) {
 		String protocol = "image/" + Configuration.getInstance().getDefaultScreenWriter().getScreenshotExtension();
-		RawMessageMetadata messageMetadata = buildMetaData(direction, sessionId, sessionGroup, protocol);
+		return buildMetadata(direction, sessionId, sessionGroup, protocol, count);
+	}
 
-		try (InputStream is = Files.newInputStream(path)) {
-			return RawMessage.newBuilder().setMetadata(messageMetadata).setBody(ByteString.readFrom(is, 0x1000)).build();
+	/**
+	 * Allocates IDs of messages with consecutive sequences, e.g. for fragments of one payload
+	 * @param protocol can be null
+	 */
+	public List<RawMessageMetadata> buildMetadata(Direction direction, String sessionId, String sessionGroup, String protocol, int count) {
+		long firstSequence = sequenceGenerator.reserve(sessionId, direction, count);
+		List<RawMessageMetadata> metadata = new ArrayList<>(count);
+		for (int i = 0; i < count; i++)
+			metadata.add(buildMetaData(direction, sessionId, sessionGroup, protocol, firstSequence + i));
+		return metadata;
+	}
+
+	public RawMessage buildMessageFromFile(Path path, RawMessageMetadata messageMetadata) {
+		try {
+			// the array is read at once with the size of the file and is not shared, so it is safe to wrap it without copy
+			ByteString body = UnsafeByteOperations.unsafeWrap(Files.readAllBytes(path));
+			return RawMessage.newBuilder().setMetadata(messageMetadata).setBody(body).build();
 		} catch (IOException e) {
 			logger.error("Cannot encode screenshot", e);
 			return null;
@@ -85,7 +110,8 @@ public final class DefaultMessageStoreBuilder implements MessageStoreBuilder<Raw
 			Direction direction,
 			String sessionId,
 			String sessionGroup,
-			String protocol
+			String protocol,
+			long sequence
 	) {
 		ConnectionID.Builder connectionID = ConnectionID.newBuilder().setSessionAlias(sessionId);
 		if (sessionGroup != null) {
@@ -95,7 +121,7 @@ public final class DefaultMessageStoreBuilder implements MessageStoreBuilder<Raw
 		MessageID.Builder messageID = factory.newMessageIDBuilder()
 				.setConnectionId(connectionID)
 				.setDirection(direction)
-				.setSequence(seqNum.incrementAndGet())
+				.setSequence(sequence)
 				.setTimestamp(getTimestamp(Instant.now()));
 		RawMessageMetadata.Builder builder = RawMessageMetadata.newBuilder().setId(messageID);
 		if (protocol != null) {
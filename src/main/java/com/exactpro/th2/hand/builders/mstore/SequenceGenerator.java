@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.builders.mstore;
+
+import com.exactpro.th2.common.grpc.Direction;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates sequences of messages separately for each session alias and direction, so sequences are contiguous within them.
+ * All counters start from the same time-based value, which keeps sequences increasing across restarts of the hand.
+ */
+public class SequenceGenerator {
+	private final long startSequence;
+	private final Map<String, AtomicLong[]> sequences = new ConcurrentHashMap<>();
+
+	public SequenceGenerator(long startSequence) {
+		this.startSequence = startSequence;
+	}
+
+	public long next(String sessionAlias, Direction direction) {
+		return reserve(sessionAlias, direction, 1);
+	}
+
+	/**
+	 * Reserves the range of sequences by one atomic operation
+	 * @return the first sequence of the range
+	 */
+	public long reserve(String sessionAlias, Direction direction, int count) {
+		if (count <= 0)
+			throw new IllegalArgumentException("Number of sequences to reserve should be positive: " + count);
+		return getCounter(sessionAlias, direction).getAndAdd(count) + 1;
+	}
+
+	private AtomicLong getCounter(String sessionAlias, Direction direction) {
+		AtomicLong[] counters = sequences.get(sessionAlias);
+		if (counters == null)
+			counters = sequences.computeIfAbsent(sessionAlias, alias -> new AtomicLong[] {new AtomicLong(startSequence), new AtomicLong(startSequence)});
+		return counters[direction == Direction.SECOND ? 1 : 0];
+	}
+}
@@ -17,34 +17,34 @@
 package com.exactpro.th2.hand.builders.script;
 
 import com.exactpro.th2.act.grpc.hand.RhActionList;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.List;
 
 public abstract class AbstractScriptBuilder<T> {
-	
-	private static final Logger logger = LoggerFactory.getLogger(AbstractScriptBuilder.class);
+
+	private final ScriptTemplateCache templateCache;
+
+	protected AbstractScriptBuilder() {
+		this(0);
+	}
+
+	/**
+	 * @param templateCacheSize number of cached script templates, 0 disables the cache
+	 */
+	protected AbstractScriptBuilder(int templateCacheSize) {
+		this.templateCache = templateCacheSize > 0 ? new ScriptTemplateCache(templateCacheSize) : null;
+	}
 
 	public String buildScript(RhActionList actions) {
-		StringBuilder script = new StringBuilder();
-		
-		try (CSVPrinter printer = CSVFormat.DEFAULT.print(script)) {
-			for (T action : getActionsList(actions)) {
-				BaseBuilder<?, T> builder = getBuilder(action);
-				if (builder == null)
-					continue;
-				builder.buildScript(printer, action);
-			}
-			
-		} catch (IOException e) {
-			logger.error("An error occurred while building script", e);
+		ScriptWriter writer = templateCache == null ? ScriptWriter.get() : ScriptWriter.get(templateCache);
+		for (T action : getActionsList(actions)) {
+			BaseBuilder<?, T> builder = getBuilder(action);
+			if (builder == null)
+				continue;
+			builder.buildScript(writer, action);
 		}
 
-		return script.toString();
+		return writer.finish();
 	}
 	
 	protected abstract List<T> getActionsList(RhActionList actions);
@@ -17,49 +17,37 @@
 package com.exactpro.th2.hand.builders.script;
 
 import com.google.protobuf.GeneratedMessageV3;
-import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
 public abstract class BaseBuilder<T extends GeneratedMessageV3, K> {
 	protected static final String ACTION = "#action";
 
 
-	public void buildScript(CSVPrinter printer, K action) throws IOException {
-		List<String> headers = new ArrayList<>(), values = new ArrayList<>();
-
-		headers.add(ACTION);
-		values.add(getActionName());
-
-		buildPayLoad(action, headers, values);
-
-		printer.printRecord(headers);
-		printer.printRecord(values);
+	public void buildScript(ScriptWriter writer, K action) {
+		writer.startAction(ACTION, getActionName());
+		buildPayLoad(action, writer);
+		writer.endAction();
 	}
 
 	protected abstract T getMessage(K action);
 
 	protected abstract String getActionName();
 
-	protected abstract void createActionDetails(T message, List<String> headers, List<String> values);
+	protected abstract void createActionDetails(T message, ScriptWriter writer);
 
-	protected abstract void buildPayLoad(K action, List<String> headers, List<String> values);
+	protected abstract void buildPayLoad(K action, ScriptWriter writer);
 
-	protected static void addIfNotEmpty(String headerName, boolean value, List<String> headers, List<String> values) {
-		addIfNotEmpty(headerName, String.valueOf(value), headers, values);
+	protected static void addIfNotEmpty(String headerName, boolean value, ScriptWriter writer) {
+		writer.add(headerName, value);
 	}
 
-	protected static void addIfNotEmpty(String headerName, int value, List<String> headers, List<String> values) {
-		addIfNotEmpty(headerName, String.valueOf(value), headers, values);
+	protected static void addIfNotEmpty(String headerName, int value, ScriptWriter writer) {
+		writer.add(headerName, value);
 	}
 
-	protected static void addIfNotEmpty(String headerName, String value, List<String> headers, List<String> values) {
+	protected static void addIfNotEmpty(String headerName, String value, ScriptWriter writer) {
 		if (StringUtils.isNotEmpty(value)) {
-			headers.add(headerName);
-			values.add(value);
+			writer.add(headerName, value);
 		}
 	}
 }
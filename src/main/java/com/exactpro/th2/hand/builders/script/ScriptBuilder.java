@@ -25,6 +25,18 @@ public class ScriptBuilder {
 
 	private volatile WinScriptBuilder winScriptBuilder;
 	private volatile WebScriptBuilder webScriptBuilder;
+	private final int templateCacheSize;
+
+	public ScriptBuilder() {
+		this(0);
+	}
+
+	/**
+	 * @param templateCacheSize number of cached script templates for each of web and windows actions, 0 disables the cache
+	 */
+	public ScriptBuilder(int templateCacheSize) {
+		this.templateCacheSize = templateCacheSize;
+	}
 
 	public String buildScript(RhActionList actions) throws HandException {
 		RhActionList.ListCase type = actions.getListCase();
@@ -41,7 +53,7 @@ public class ScriptBuilder {
 		if (this.winScriptBuilder == null) {
 			synchronized (this) {
 				if (this.winScriptBuilder == null) {
-					this.winScriptBuilder = new WinScriptBuilder();
+					this.winScriptBuilder = new WinScriptBuilder(templateCacheSize);
 				}
 			}
 		}
@@ -52,7 +64,7 @@ public class ScriptBuilder {
 		if (this.webScriptBuilder == null) {
 			synchronized (this) {
 				if (this.webScriptBuilder == null) {
-					this.webScriptBuilder = new WebScriptBuilder();
+					this.webScriptBuilder = new WebScriptBuilder(templateCacheSize);
 				}
 			}
 		}
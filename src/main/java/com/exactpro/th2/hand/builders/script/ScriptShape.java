@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.builders.script;
+
+import java.util.Arrays;
+
+/**
+ * Headers of all actions of a script, i.e. types of actions and their optional fields which were written. 
+ * Scripts of the same shape have the same header records.
+ */
+final class ScriptShape {
+	private final String[] headers;
+	private final int[] fieldCounts;
+	private final int hash;
+
+	ScriptShape(String[] headers, int[] fieldCounts) {
+		this.headers = headers;
+		this.fieldCounts = fieldCounts;
+		this.hash = 31 * Arrays.hashCode(headers) + Arrays.hashCode(fieldCounts);
+	}
+
+	int getActionsCount() {
+		return fieldCounts.length;
+	}
+
+	int getFieldsCount(int actionIndex) {
+		return fieldCounts[actionIndex];
+	}
+
+	/**
+	 * @param index index of the header among headers of all actions
+	 */
+	String getHeader(int index) {
+		return headers[index];
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (!(o instanceof ScriptShape))
+			return false;
+		ScriptShape that = (ScriptShape) o;
+		return hash == that.hash && Arrays.equals(fieldCounts, that.fieldCounts) && Arrays.equals(headers, that.headers);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.builders.script;
+
+/**
+ * Header records of script actions recorded for a script of some shape. 
+ * Header records are already quoted and end with record separator, so they are written as is.
+ */
+final class ScriptTemplate {
+	private final String[] headerRecords;
+
+	ScriptTemplate(String[] headerRecords) {
+		this.headerRecords = headerRecords;
+	}
+
+	String getHeaderRecord(int actionIndex) {
+		return headerRecords[actionIndex];
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.builders.script;
+
+import io.prometheus.client.Counter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of script templates keyed by shape of the script, i.e. by headers of its actions
+ */
+final class ScriptTemplateCache {
+	private static final Counter LOOKUPS = Counter.build()
+			.name("th2_hand_script_template_cache_total")
+			.help("Lookups of script templates by shape of script")
+			.labelNames("result")
+			.register();
+	private static final Counter.Child HITS = LOOKUPS.labels("hit");
+	private static final Counter.Child MISSES = LOOKUPS.labels("miss");
+
+	private final Map<ScriptShape, ScriptTemplate> templates;
+
+	ScriptTemplateCache(int maxSize) {
+		this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ScriptShape, ScriptTemplate> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	ScriptTemplate get(ScriptShape shape) {
+		ScriptTemplate template;
+		synchronized (this) {
+			template = templates.get(shape);
+		}
+		(template != null ? HITS : MISSES).inc();
+		return template;
+	}
+
+	synchronized void put(ScriptShape shape, ScriptTemplate template) {
+		templates.put(shape, template);
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.builders.script;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes RemoteHand script as CSV: every action is a record of headers followed by a record of values.
+ * Fields are quoted and escaped as by CSVPrinter with CSVFormat.DEFAULT, so scripts are the same as printed by it.
+ * Buffers are kept by the thread and reused for the next script, so the writer must not be passed to other threads.
+ * <p>
+ * With cache of templates headers are not escaped while actions are written. They are collected as the shape 
+ * of the script, which includes optional fields written by builders, and header records are taken from the template 
+ * of this shape when the script is finished. Only values are escaped for a batch of the cached shape.
+ */
+public final class ScriptWriter {
+	private static final String RECORD_SEPARATOR = "\r\n";
+	private static final char DELIMITER = ',', QUOTE = '"', COMMENT = '#', SP = ' ';
+	private static final int INITIAL_SCRIPT_CAPACITY = 4096, INITIAL_RECORD_CAPACITY = 512, INITIAL_ACTIONS_CAPACITY = 64;
+	/** Bigger buffers are not kept after the script is built to not hold memory of a single huge script */
+	private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+	private static final ThreadLocal<ScriptWriter> WRITERS = ThreadLocal.withInitial(ScriptWriter::new);
+
+	private StringBuilder script = new StringBuilder(INITIAL_SCRIPT_CAPACITY);
+	private StringBuilder headers = new StringBuilder(INITIAL_RECORD_CAPACITY);
+	private StringBuilder values = new StringBuilder(INITIAL_RECORD_CAPACITY);
+
+	private ScriptTemplateCache templateCache;
+	private final List<String> scriptHeaders = new ArrayList<>();
+	private int[] fieldCounts = new int[INITIAL_ACTIONS_CAPACITY], valueEnds = new int[INITIAL_ACTIONS_CAPACITY];
+	private int actionsCount;
+
+	private ScriptWriter() {
+	}
+
+	/**
+	 * @return empty writer of the current thread
+	 */
+	public static ScriptWriter get() {
+		return reset(null);
+	}
+
+	/**
+	 * @return empty writer of the current thread which takes header records from the cache of templates
+	 */
+	static ScriptWriter get(ScriptTemplateCache templateCache) {
+		return reset(templateCache);
+	}
+
+	private static ScriptWriter reset(ScriptTemplateCache templateCache) {
+		ScriptWriter writer = WRITERS.get();
+		writer.script.setLength(0);
+		writer.values.setLength(0);
+		writer.templateCache = templateCache;
+		writer.scriptHeaders.clear();
+		writer.actionsCount = 0;
+		return writer;
+	}
+
+	public void startAction(String header, String value) {
+		if (templateCache == null) {
+			headers.setLength(0);
+			values.setLength(0);
+		} else {
+			if (actionsCount == fieldCounts.length) {
+				fieldCounts = Arrays.copyOf(fieldCounts, actionsCount * 2);
+				valueEnds = Arrays.copyOf(valueEnds, actionsCount * 2);
+			}
+			fieldCounts[actionsCount] = 0;
+		}
+		writeHeader(header, true);
+		appendField(values, value, true);
+	}
+
+	public void add(String header, String value) {
+		writeHeader(header, false);
+		appendField(values, value, false);
+	}
+
+	/** Numbers are written as is, they never need quoting */
+	public void add(String header, int value) {
+		writeHeader(header, false);
+		values.append(DELIMITER).append(value);
+	}
+
+	public void add(String header, boolean value) {
+		writeHeader(header, false);
+		values.append(DELIMITER).append(value);
+	}
+
+	public void endAction() {
+		if (templateCache != null) {
+			valueEnds[actionsCount++] = values.length();
+			return;
+		}
+
+		script.append(headers).append(RECORD_SEPARATOR).append(values).append(RECORD_SEPARATOR);
+	}
+
+	/**
+	 * @return the script
+	 */
+	public String finish() {
+		if (templateCache != null)
+			writeActions();
+
+		String result = script.toString();
+		if (script.capacity() > MAX_RETAINED_CAPACITY || values.capacity() > MAX_RETAINED_CAPACITY) {
+			script = new StringBuilder(INITIAL_SCRIPT_CAPACITY);
+			headers = new StringBuilder(INITIAL_RECORD_CAPACITY);
+			values = new StringBuilder(INITIAL_RECORD_CAPACITY);
+		}
+		return result;
+	}
+
+	private void writeActions() {
+		ScriptShape shape = new ScriptShape(scriptHeaders.toArray(new String[0]), Arrays.copyOf(fieldCounts, actionsCount));
+		ScriptTemplate template = templateCache.get(shape);
+		if (template == null) {
+			template = createTemplate(shape);
+			templateCache.put(shape, template);
+		}
+
+		int valuesStart = 0;
+		for (int i = 0; i < actionsCount; i++) {
+			script.append(template.getHeaderRecord(i)).append(values, valuesStart, valueEnds[i]).append(RECORD_SEPARATOR);
+			valuesStart = valueEnds[i];
+		}
+	}
+
+	private static ScriptTemplate createTemplate(ScriptShape shape) {
+		String[] headerRecords = new String[shape.getActionsCount()];
+		StringBuilder record = new StringBuilder(INITIAL_RECORD_CAPACITY);
+		for (int i = 0, header = 0; i < headerRecords.length; i++) {
+			record.setLength(0);
+			for (int field = 0, count = shape.getFieldsCount(i); field < count; field++, header++)
+				appendField(record, shape.getHeader(header), field == 0);
+			headerRecords[i] = record.append(RECORD_SEPARATOR).toString();
+		}
+		return new ScriptTemplate(headerRecords);
+	}
+
+	private void writeHeader(String header, boolean first) {
+		if (templateCache != null) {
+			scriptHeaders.add(header);
+			fieldCounts[actionsCount]++;
+			return;
+		}
+
+		appendField(headers, header, first);
+	}
+
+	/**
+	 * Implements minimal quoting of CSVFormat.DEFAULT: null is written as empty field, 
+	 * the field is quoted if it is empty and the first in the record, if it starts with a character up to '#', 
+	 * ends with a character up to space or contains delimiter, quote or line break. Quotes are doubled inside quoted field.
+	 */
+	private static void appendField(StringBuilder out, String value, boolean first) {
+		if (!first)
+			out.append(DELIMITER);
+		if (value == null)
+			return;
+
+		if (!needsQuotes(value, first)) {
+			out.append(value);
+			return;
+		}
+
+		out.append(QUOTE);
+		int start = 0;
+		for (int pos = 0, len = value.length(); pos < len; pos++) {
+			if (value.charAt(pos) == QUOTE) {
+				out.append(value, start, pos).append(QUOTE);
+				start = pos;
+			}
+		}
+		out.append(value, start, value.length()).append(QUOTE);
+	}
+
+	private static boolean needsQuotes(String value, boolean first) {
+		int len = value.length();
+		if (len == 0)
+			return first;
+		if (value.charAt(0) <= COMMENT || value.charAt(len - 1) <= SP)
+			return true;
+		for (int pos = 0; pos < len; pos++) {
+			char c = value.charAt(pos);
+			if (c == '\n' || c == '\r' || c == QUOTE || c == DELIMITER)
+				return true;
+		}
+		return false;
+	}
+}
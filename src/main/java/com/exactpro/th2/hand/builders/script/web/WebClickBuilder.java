@@ -18,8 +18,8 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
-import java.util.List;
 import java.util.stream.Collectors;
 
 public class WebClickBuilder extends WebBaseBuilder<RhActionsMessages.Click> {
@@ -34,27 +34,14 @@ public class WebClickBuilder extends WebBaseBuilder<RhActionsMessages.Click> {
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.Click message, List<String> headers, List<String> values) {
-		headers.add("#wait");
-		values.add(String.valueOf(message.getWait()));
-
-		headers.add("#locator");
-		values.add(readLocator(message.getLocator()));
-		
-		headers.add("#matcher");
-		values.add(message.getMatcher());
-
-		headers.add("#button");
-		values.add(message.getButton().name().toLowerCase());
-
-		headers.add("#xOffset");
-		values.add(String.valueOf(message.getXOffset()));
-
-		headers.add("#yOffset");
-		values.add(String.valueOf(message.getYOffset()));
-
-		headers.add("#modifiers");
-		values.add(readModifiers(message.getModifiers()));
+	protected void createActionDetails(RhActionsMessages.Click message, ScriptWriter writer) {
+		writer.add("#wait", message.getWait());
+		writer.add("#locator", readLocator(message.getLocator()));
+		writer.add("#matcher", message.getMatcher());
+		writer.add("#button", message.getButton().name().toLowerCase());
+		writer.add("#xOffset", message.getXOffset());
+		writer.add("#yOffset", message.getYOffset());
+		writer.add("#modifiers", readModifiers(message.getModifiers()));
 	}
 
 	private String readModifiers(RhActionsMessages.Click.ModifiersList modifiersList) {
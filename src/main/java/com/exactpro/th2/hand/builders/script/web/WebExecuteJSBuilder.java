@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebExecuteJSBuilder extends WebBaseBuilder<RhActionsMessages.ExecuteJS> {
 	@Override
@@ -33,8 +32,7 @@ public class WebExecuteJSBuilder extends WebBaseBuilder<RhActionsMessages.Execut
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.ExecuteJS message, List<String> headers, List<String> values) {
-		headers.add("#commands");
-		values.add(message.getCommands());
+	protected void createActionDetails(RhActionsMessages.ExecuteJS message, ScriptWriter writer) {
+		writer.add("#commands", message.getCommands());
 	}
 }
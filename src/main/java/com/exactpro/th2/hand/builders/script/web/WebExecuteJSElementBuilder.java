@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebExecuteJSElementBuilder extends WebBaseBuilder<RhActionsMessages.ExecuteJSElement> {
 	@Override
@@ -33,17 +32,10 @@ public class WebExecuteJSElementBuilder extends WebBaseBuilder<RhActionsMessages
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.ExecuteJSElement message, List<String> headers, List<String> values) {
-		headers.add("#commands");
-		values.add(message.getCommands());
-
-		headers.add("#wait");
-		values.add(String.valueOf(message.getWait()));
-
-		headers.add("#locator");
-		values.add(readLocator(message.getLocator()));
-		
-		headers.add("#matcher");
-		values.add(message.getMatcher());
+	protected void createActionDetails(RhActionsMessages.ExecuteJSElement message, ScriptWriter writer) {
+		writer.add("#commands", message.getCommands());
+		writer.add("#wait", message.getWait());
+		writer.add("#locator", readLocator(message.getLocator()));
+		writer.add("#matcher", message.getMatcher());
 	}
 }
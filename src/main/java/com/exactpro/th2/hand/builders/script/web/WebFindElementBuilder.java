@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebFindElementBuilder extends WebBaseBuilder<RhActionsMessages.FindElement> {
 	@Override
@@ -33,17 +32,10 @@ public class WebFindElementBuilder extends WebBaseBuilder<RhActionsMessages.Find
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.FindElement message, List<String> headers, List<String> values) {
-		headers.add("#wait");
-		values.add(String.valueOf(message.getWait()));
-
-		headers.add("#locator");
-		values.add(readLocator(message.getLocator()));
-
-		headers.add("#matcher");
-		values.add(message.getMatcher());
-
-		headers.add("#id");
-		values.add(message.getId());
+	protected void createActionDetails(RhActionsMessages.FindElement message, ScriptWriter writer) {
+		writer.add("#wait", message.getWait());
+		writer.add("#locator", readLocator(message.getLocator()));
+		writer.add("#matcher", message.getMatcher());
+		writer.add("#id", message.getId());
 	}
 }
@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebGetElementAttributeBuilder extends WebBaseBuilder<RhActionsMessages.GetElementAttribute> {
 	@Override
@@ -33,17 +32,10 @@ public class WebGetElementAttributeBuilder extends WebBaseBuilder<RhActionsMessa
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.GetElementAttribute message, List<String> headers, List<String> values) {
-		headers.add("#attribute");
-		values.add(message.getAttribute());
-
-		headers.add("#wait");
-		values.add(String.valueOf(message.getWait()));
-
-		headers.add("#locator");
-		values.add(readLocator(message.getLocator()));
-
-		headers.add("#matcher");
-		values.add(message.getMatcher());
+	protected void createActionDetails(RhActionsMessages.GetElementAttribute message, ScriptWriter writer) {
+		writer.add("#attribute", message.getAttribute());
+		writer.add("#wait", message.getWait());
+		writer.add("#locator", readLocator(message.getLocator()));
+		writer.add("#matcher", message.getMatcher());
 	}
 }
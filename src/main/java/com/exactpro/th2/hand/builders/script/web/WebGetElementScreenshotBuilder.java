@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebGetElementScreenshotBuilder extends WebBaseBuilder<RhActionsMessages.GetElementScreenshot> {
 	@Override
@@ -33,17 +32,10 @@ public class WebGetElementScreenshotBuilder extends WebBaseBuilder<RhActionsMess
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.GetElementScreenshot message, List<String> headers, List<String> values) {
-		headers.add("#name");
-		values.add(message.getName());
-
-		headers.add("#wait");
-		values.add(String.valueOf(message.getWait()));
-
-		headers.add("#locator");
-		values.add(readLocator(message.getLocator()));
-
-		headers.add("#matcher");
-		values.add(message.getMatcher());
+	protected void createActionDetails(RhActionsMessages.GetElementScreenshot message, ScriptWriter writer) {
+		writer.add("#name", message.getName());
+		writer.add("#wait", message.getWait());
+		writer.add("#locator", readLocator(message.getLocator()));
+		writer.add("#matcher", message.getMatcher());
 	}
 }
@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebGetElementValueBuilder extends WebBaseBuilder<RhActionsMessages.GetElementValue> {
 	@Override
@@ -33,14 +32,9 @@ public class WebGetElementValueBuilder extends WebBaseBuilder<RhActionsMessages.
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.GetElementValue message, List<String> headers, List<String> values) {
-		headers.add("#wait");
-		values.add(String.valueOf(message.getWait()));
-
-		headers.add("#locator");
-		values.add(readLocator(message.getLocator()));
-
-		headers.add("#matcher");
-		values.add(message.getMatcher());
+	protected void createActionDetails(RhActionsMessages.GetElementValue message, ScriptWriter writer) {
+		writer.add("#wait", message.getWait());
+		writer.add("#locator", readLocator(message.getLocator()));
+		writer.add("#matcher", message.getMatcher());
 	}
 }
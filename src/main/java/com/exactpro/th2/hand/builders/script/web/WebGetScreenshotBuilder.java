@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebGetScreenshotBuilder extends WebBaseBuilder<RhActionsMessages.GetScreenshot> {
 	@Override
@@ -33,8 +32,7 @@ public class WebGetScreenshotBuilder extends WebBaseBuilder<RhActionsMessages.Ge
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.GetScreenshot message, List<String> headers, List<String> values) {
-		headers.add("#name");
-		values.add(message.getName());
+	protected void createActionDetails(RhActionsMessages.GetScreenshot message, ScriptWriter writer) {
+		writer.add("#name", message.getName());
 	}
 }
@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebOpenBuilder extends WebBaseBuilder<RhActionsMessages.Open> {
 	@Override
@@ -33,8 +32,7 @@ public class WebOpenBuilder extends WebBaseBuilder<RhActionsMessages.Open> {
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.Open message, List<String> headers, List<String> values) {
-		headers.add("#url");
-		values.add(message.getUrl());
+	protected void createActionDetails(RhActionsMessages.Open message, ScriptWriter writer) {
+		writer.add("#url", message.getUrl());
 	}
 }
@@ -29,6 +29,13 @@ public class WebScriptBuilder extends AbstractScriptBuilder<RhWebActions> {
 	
 	protected final Map<RhWebActions.ActionCase, WebBaseBuilder<?>> buildersMap = new ConcurrentHashMap<>();
 
+	public WebScriptBuilder() {
+	}
+
+	public WebScriptBuilder(int templateCacheSize) {
+		super(templateCacheSize);
+	}
+
 	@Override
 	protected List<RhWebActions> getActionsList(RhActionList actions) {
 		return actions.getWeb().getWebActionListList();
@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebScrollDivUntilBuilder extends WebBaseBuilder<RhActionsMessages.ScrollDivUntil> {
 	@Override
@@ -33,35 +32,16 @@ public class WebScrollDivUntilBuilder extends WebBaseBuilder<RhActionsMessages.S
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.ScrollDivUntil message, List<String> headers, List<String> values) {
-		headers.add("#wait");
-		values.add(String.valueOf(message.getWait()));
-
-		headers.add("#locator");
-		values.add(readLocator(message.getLocator()));
-
-		headers.add("#matcher");
-		values.add(message.getMatcher());
-
-		headers.add("#wait2");
-		values.add(String.valueOf(message.getWait2()));
-
-		headers.add("#locator2");
-		values.add(readLocator(message.getLocator2()));
-
-		headers.add("#matcher2");
-		values.add(message.getMatcher2());
-
-		headers.add("#searchdir");
-		values.add(message.getSearchDir().name().toLowerCase());
-
-		headers.add("#searchoffset");
-		values.add(String.valueOf(message.getSearchOffset()));
-
-		headers.add("#doscrollto");
-		values.add(String.valueOf(message.getDoScrollTo()));
-
-		headers.add("#yoffset");
-		values.add(String.valueOf(message.getYOffset()));
+	protected void createActionDetails(RhActionsMessages.ScrollDivUntil message, ScriptWriter writer) {
+		writer.add("#wait", message.getWait());
+		writer.add("#locator", readLocator(message.getLocator()));
+		writer.add("#matcher", message.getMatcher());
+		writer.add("#wait2", message.getWait2());
+		writer.add("#locator2", readLocator(message.getLocator2()));
+		writer.add("#matcher2", message.getMatcher2());
+		writer.add("#searchdir", message.getSearchDir().name().toLowerCase());
+		writer.add("#searchoffset", message.getSearchOffset());
+		writer.add("#doscrollto", message.getDoScrollTo());
+		writer.add("#yoffset", message.getYOffset());
 	}
 }
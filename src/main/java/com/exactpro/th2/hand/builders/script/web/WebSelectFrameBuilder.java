@@ -17,7 +17,7 @@
 package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebSelectFrameBuilder extends WebBaseBuilder<RhActionsMessages.SelectFrame> {
     @Override
@@ -31,14 +31,9 @@ public class WebSelectFrameBuilder extends WebBaseBuilder<RhActionsMessages.Sele
     }
 
     @Override
-    protected void createActionDetails(RhActionsMessages.SelectFrame message, List<String> headers, List<String> values) {
-        headers.add("#wait");
-        values.add(String.valueOf(message.getWait()));
-
-        headers.add("#locator");
-        values.add(readLocator(message.getLocator()));
-
-        headers.add("#matcher");
-        values.add(message.getMatcher());
+    protected void createActionDetails(RhActionsMessages.SelectFrame message, ScriptWriter writer) {
+        writer.add("#wait", message.getWait());
+        writer.add("#locator", readLocator(message.getLocator()));
+        writer.add("#matcher", message.getMatcher());
     }
 }
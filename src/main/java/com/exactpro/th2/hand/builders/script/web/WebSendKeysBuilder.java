@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebSendKeysBuilder extends WebBaseBuilder<RhActionsMessages.SendKeys> {
 	@Override
@@ -33,41 +32,18 @@ public class WebSendKeysBuilder extends WebBaseBuilder<RhActionsMessages.SendKey
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.SendKeys message, List<String> headers, List<String> values) {
-		headers.add("#wait");
-		values.add(String.valueOf(message.getWait()));
-
-		headers.add("#locator");
-		values.add(readLocator(message.getLocator()));
-
-		headers.add("#matcher");
-		values.add(message.getMatcher());
-
-		headers.add("#text");
-		values.add(message.getText());
-
-		headers.add("#wait2");
-		values.add(String.valueOf(message.getWait2()));
-
-		headers.add("#locator2");
-		values.add(readLocator(message.getLocator2()));
-
-		headers.add("#matcher2");
-		values.add(message.getMatcher2());
-
-		headers.add("#text2");
-		values.add(message.getText2());
-
-		headers.add("#canBeDisabled");
-		values.add(String.valueOf(message.getCanBeDisabled()));
-
-		headers.add("#clear");
-		values.add(String.valueOf(message.getClear()));
-
-		headers.add("#checkInput");
-		values.add(String.valueOf(message.getCheckInput()));
-
-		headers.add("#needClick");
-		values.add(String.valueOf(message.getNeedClick()));
+	protected void createActionDetails(RhActionsMessages.SendKeys message, ScriptWriter writer) {
+		writer.add("#wait", message.getWait());
+		writer.add("#locator", readLocator(message.getLocator()));
+		writer.add("#matcher", message.getMatcher());
+		writer.add("#text", message.getText());
+		writer.add("#wait2", message.getWait2());
+		writer.add("#locator2", readLocator(message.getLocator2()));
+		writer.add("#matcher2", message.getMatcher2());
+		writer.add("#text2", message.getText2());
+		writer.add("#canBeDisabled", message.getCanBeDisabled());
+		writer.add("#clear", message.getClear());
+		writer.add("#checkInput", message.getCheckInput());
+		writer.add("#needClick", message.getNeedClick());
 	}
 }
@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebSendKeysToActiveBuilder extends WebBaseBuilder<RhActionsMessages.SendKeysToActive> {
 	@Override
@@ -33,11 +32,8 @@ public class WebSendKeysToActiveBuilder extends WebBaseBuilder<RhActionsMessages
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.SendKeysToActive message, List<String> headers, List<String> values) {
-		headers.add("#text");
-		values.add(message.getText());
-
-		headers.add("#text2");
-		values.add(message.getText2());
+	protected void createActionDetails(RhActionsMessages.SendKeysToActive message, ScriptWriter writer) {
+		writer.add("#text", message.getText());
+		writer.add("#text2", message.getText2());
 	}
 }
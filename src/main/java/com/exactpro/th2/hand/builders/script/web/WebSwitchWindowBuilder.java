@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebSwitchWindowBuilder extends WebBaseBuilder<RhActionsMessages.SwitchWindow> {
 	@Override
@@ -33,8 +32,7 @@ public class WebSwitchWindowBuilder extends WebBaseBuilder<RhActionsMessages.Swi
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.SwitchWindow message, List<String> headers, List<String> values) {
-		headers.add("#window");
-		values.add(String.valueOf(message.getWindow()));
+	protected void createActionDetails(RhActionsMessages.SwitchWindow message, ScriptWriter writer) {
+		writer.add("#window", message.getWindow());
 	}
 }
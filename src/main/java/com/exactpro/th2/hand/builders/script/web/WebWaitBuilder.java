@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.web;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebWaitBuilder extends WebBaseBuilder<RhActionsMessages.Wait> {
 	@Override
@@ -33,8 +32,7 @@ public class WebWaitBuilder extends WebBaseBuilder<RhActionsMessages.Wait> {
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.Wait message, List<String> headers, List<String> values) {
-		headers.add("#seconds");
-		values.add(String.valueOf(message.getSeconds()));
+	protected void createActionDetails(RhActionsMessages.Wait message, ScriptWriter writer) {
+		writer.add("#seconds", message.getSeconds());
 	}
 }
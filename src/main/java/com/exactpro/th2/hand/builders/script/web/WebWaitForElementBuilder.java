@@ -19,8 +19,7 @@ package com.exactpro.th2.hand.builders.script.web;
 import com.exactpro.remotehand.web.actions.WaitForElement;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WebWaitForElementBuilder extends WebBaseBuilder<RhActionsMessages.WaitForElement> {
 	
@@ -35,14 +34,9 @@ public class WebWaitForElementBuilder extends WebBaseBuilder<RhActionsMessages.W
 	}
 
 	@Override
-	protected void createActionDetails(RhActionsMessages.WaitForElement message, List<String> headers, List<String> values) {
-		headers.add("#locator");
-		values.add(readLocator(message.getLocator()));
-
-		headers.add("#matcher");
-		values.add(message.getMatcher());
-
-		headers.add("#seconds");
-		values.add(String.valueOf(message.getSeconds()));
+	protected void createActionDetails(RhActionsMessages.WaitForElement message, ScriptWriter writer) {
+		writer.add("#locator", readLocator(message.getLocator()));
+		writer.add("#matcher", message.getMatcher());
+		writer.add("#seconds", message.getSeconds());
 	}
 }
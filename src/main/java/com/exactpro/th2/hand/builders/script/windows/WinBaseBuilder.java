@@ -20,6 +20,7 @@ import com.exactpro.remotehand.windows.SearchParams;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.hand.builders.script.BaseBuilder;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 import com.google.protobuf.GeneratedMessageV3;
 
 import java.util.List;
@@ -36,27 +37,27 @@ public abstract class WinBaseBuilder<T extends GeneratedMessageV3> extends BaseB
 
 
 	@Override
-	protected void buildPayLoad(RhWinActions action, List<String> headers, List<String> values) {
+	protected void buildPayLoad(RhWinActions action, ScriptWriter writer) {
 		T message = getMessage(action);
-		addDefaults(getBaseParams(message), headers, values);
-		createActionDetails(message, headers, values);
+		addDefaults(getBaseParams(message), writer);
+		createActionDetails(message, writer);
 	}
 
-	protected void addDefaults(RhWinActionsMessages.BaseWinParams baseParams, List<String> headers, List<String> values) {
-		addIfNotEmpty("#id", baseParams.getId(), headers, values);
-		addIfNotEmpty("#execute", baseParams.getExecute(), headers, values);
-		addIfNotEmpty("#fromRoot", String.valueOf(baseParams.getFromRoot()), headers, values);
-		addIfNotEmpty("#isExperimental", String.valueOf(baseParams.getExperimentalDriver()), headers, values);
+	protected void addDefaults(RhWinActionsMessages.BaseWinParams baseParams, ScriptWriter writer) {
+		addIfNotEmpty("#id", baseParams.getId(), writer);
+		addIfNotEmpty("#execute", baseParams.getExecute(), writer);
+		writer.add("#fromRoot", baseParams.getFromRoot());
+		writer.add("#isExperimental", baseParams.getExperimentalDriver());
 	}
 
 	protected abstract RhWinActionsMessages.BaseWinParams getBaseParams(T message);
 
 
-	protected static void addLocator(List<RhWinActionsMessages.WinLocator> winLocators, List<String> headers, List<String> values) {
-		addLocator(winLocators, headers, values, locatorPair);
+	protected static void addLocator(List<RhWinActionsMessages.WinLocator> winLocators, ScriptWriter writer) {
+		addLocator(winLocators, writer, locatorPair);
 	}
 
-	protected static void addLocator(List<RhWinActionsMessages.WinLocator> winLocators, List<String> headers, List<String> values,
+	protected static void addLocator(List<RhWinActionsMessages.WinLocator> winLocators, ScriptWriter writer,
 	                                 SearchParams.HeaderKeys keys) {
 		if (winLocators == null || winLocators.isEmpty())
 			return;
@@ -65,15 +66,11 @@ public abstract class WinBaseBuilder<T extends GeneratedMessageV3> extends BaseB
 		for (RhWinActionsMessages.WinLocator winLocator : winLocators) {
 			String paramSuffix = count == 1 ? "" : String.valueOf(count);
 
-			headers.add(keys.locator + paramSuffix);
-			values.add(winLocator.getLocator());
-
-			headers.add(keys.matcher + paramSuffix);
-			values.add(winLocator.getMatcher());
+			writer.add(keys.locator + paramSuffix, winLocator.getLocator());
+			writer.add(keys.matcher + paramSuffix, winLocator.getMatcher());
 
 			if (winLocator.hasMatcherIndex()) {
-				headers.add(keys.index + paramSuffix);
-				values.add(String.valueOf(winLocator.getMatcherIndex().getValue()));
+				writer.add(keys.index + paramSuffix, winLocator.getMatcherIndex().getValue());
 			}
 
 			++count;
@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinCheckElementBuilder extends WinBaseBuilder<RhWinActionsMessages.WinCheckElement> {
 	@Override
@@ -38,10 +37,9 @@ public class WinCheckElementBuilder extends WinBaseBuilder<RhWinActionsMessages.
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinCheckElement message, List<String> headers, List<String> values) {
-		addLocator(message.getLocatorsList(), headers, values);
+	protected void createActionDetails(RhWinActionsMessages.WinCheckElement message, ScriptWriter writer) {
+		addLocator(message.getLocatorsList(), writer);
 
-		headers.add("#saveElement");
-		values.add(Boolean.toString(message.getSaveElement()));
+		writer.add("#saveElement", message.getSaveElement());
 	}
 }
@@ -19,8 +19,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 import com.exactpro.remotehand.windows.actions.Click;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinClickBuilder extends WinBaseBuilder<RhWinActionsMessages.WinClick> {
 	@Override
@@ -39,17 +38,16 @@ public class WinClickBuilder extends WinBaseBuilder<RhWinActionsMessages.WinClic
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinClick message, List<String> headers, List<String> values) {
-		addLocator(message.getLocatorsList(), headers, values);
+	protected void createActionDetails(RhWinActionsMessages.WinClick message, ScriptWriter writer) {
+		addLocator(message.getLocatorsList(), writer);
 
 		RhWinActionsMessages.WinClick.Button button = message.getButton();
 		if (button != RhWinActionsMessages.WinClick.Button.UNRECOGNIZED) {
-			headers.add("#button");
-			values.add(button.name().toLowerCase());
+			writer.add("#button", button.name().toLowerCase());
 		}
 
-		addIfNotEmpty("#xOffset", message.getXOffset(), headers, values);
-		addIfNotEmpty("#yOffset", message.getYOffset(), headers, values);
-		addIfNotEmpty("#modifiers", message.getModifiers(), headers, values);
+		addIfNotEmpty("#xOffset", message.getXOffset(), writer);
+		addIfNotEmpty("#yOffset", message.getYOffset(), writer);
+		addIfNotEmpty("#modifiers", message.getModifiers(), writer);
 	}
 }
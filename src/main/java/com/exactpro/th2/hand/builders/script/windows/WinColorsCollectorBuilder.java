@@ -19,8 +19,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 import com.exactpro.remotehand.windows.actions.ColorsCollector;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinColorsCollectorBuilder extends WinBaseBuilder<RhWinActionsMessages.WinColorsCollector> {
 	@Override
@@ -34,14 +33,14 @@ public class WinColorsCollectorBuilder extends WinBaseBuilder<RhWinActionsMessag
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinColorsCollector message, List<String> headers, List<String> values) {
-		addLocator(message.getLocatorsList(), headers, values);
+	protected void createActionDetails(RhWinActionsMessages.WinColorsCollector message, ScriptWriter writer) {
+		addLocator(message.getLocatorsList(), writer);
 
-		addIfNotEmpty("#startxoffset", message.getStartXOffset(), headers, values);
-		addIfNotEmpty("#startyoffset", message.getStartYOffset(), headers, values);
+		addIfNotEmpty("#startxoffset", message.getStartXOffset(), writer);
+		addIfNotEmpty("#startyoffset", message.getStartYOffset(), writer);
 
-		addIfNotEmpty("#endxoffset", message.getEndXOffset(), headers, values);
-		addIfNotEmpty("#endyoffset", message.getEndYOffset(), headers, values);
+		addIfNotEmpty("#endxoffset", message.getEndXOffset(), writer);
+		addIfNotEmpty("#endyoffset", message.getEndYOffset(), writer);
 	}
 
 	@Override
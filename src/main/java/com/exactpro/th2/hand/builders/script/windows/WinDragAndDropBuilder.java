@@ -19,8 +19,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 import com.exactpro.remotehand.windows.actions.DragAndDropElement;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinDragAndDropBuilder extends WinBaseBuilder<RhWinActionsMessages.WinDragAndDrop> {
 	@Override
@@ -34,15 +33,15 @@ public class WinDragAndDropBuilder extends WinBaseBuilder<RhWinActionsMessages.W
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinDragAndDrop message, List<String> headers, List<String> values) {
-		addLocator(message.getFromLocatorsList(), headers, values);
-		addLocator(message.getToLocatorsList(), headers, values, toLocatorPair);
+	protected void createActionDetails(RhWinActionsMessages.WinDragAndDrop message, ScriptWriter writer) {
+		addLocator(message.getFromLocatorsList(), writer);
+		addLocator(message.getToLocatorsList(), writer, toLocatorPair);
 
-		addIfNotEmpty("#fromoffsetx", message.getFromOffsetX(), headers, values);
-		addIfNotEmpty("#fromoffsety", message.getFromOffsetY(), headers, values);
+		addIfNotEmpty("#fromoffsetx", message.getFromOffsetX(), writer);
+		addIfNotEmpty("#fromoffsety", message.getFromOffsetY(), writer);
 
-		addIfNotEmpty("#tooffsetx", message.getToOffsetX(), headers, values);
-		addIfNotEmpty("#tooffsety", message.getToOffsetY(), headers, values);
+		addIfNotEmpty("#tooffsetx", message.getToOffsetX(), writer);
+		addIfNotEmpty("#tooffsety", message.getToOffsetY(), writer);
 	}
 
 	@Override
@@ -16,13 +16,11 @@
 
 package com.exactpro.th2.hand.builders.script.windows;
 
-
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.List;
-
 public class WinGetActiveWindowBuilder extends WinBaseBuilder<RhWinActionsMessages.WinGetActiveWindow> {
 	@Override
 	protected RhWinActionsMessages.WinGetActiveWindow getMessage(RhWinActions action) {
@@ -40,19 +38,16 @@ public class WinGetActiveWindowBuilder extends WinBaseBuilder<RhWinActionsMessag
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinGetActiveWindow message, List<String> headers, List<String> values) {
+	protected void createActionDetails(RhWinActionsMessages.WinGetActiveWindow message, ScriptWriter writer) {
 		String windowName = message.getWindowName();
 		if (StringUtils.isNotEmpty(windowName)) {
-			headers.add(WINDOWNAME);
-			values.add(windowName);
+			writer.add(WINDOWNAME, windowName);
 		} else {
-			headers.add(ACCESSIBILITY_ID);
-			values.add(message.getAccessibilityId());
+			writer.add(ACCESSIBILITY_ID, message.getAccessibilityId());
 		}
 
 		if (message.getMaxTimeout() > 0) {
-			headers.add("#maxTimeout");
-			values.add(String.valueOf(message.getMaxTimeout()));
+			writer.add("#maxTimeout", message.getMaxTimeout());
 		}
 	}
 }
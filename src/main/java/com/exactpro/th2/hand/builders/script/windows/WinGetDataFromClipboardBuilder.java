@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinGetDataFromClipboardBuilder extends WinBaseBuilder<RhWinActionsMessages.WinGetDataFromClipboard> {
 	@Override
@@ -33,7 +32,7 @@ public class WinGetDataFromClipboardBuilder extends WinBaseBuilder<RhWinActionsM
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinGetDataFromClipboard message, List<String> headers, List<String> values) {
+	protected void createActionDetails(RhWinActionsMessages.WinGetDataFromClipboard message, ScriptWriter writer) {
 
 	}
 
@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinGetElementAttributeBuilder extends WinBaseBuilder<RhWinActionsMessages.WinGetElementAttribute> {
 	@Override
@@ -38,10 +37,9 @@ public class WinGetElementAttributeBuilder extends WinBaseBuilder<RhWinActionsMe
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinGetElementAttribute message, List<String> headers, List<String> values) {
-		addLocator(message.getLocatorsList(), headers, values);
+	protected void createActionDetails(RhWinActionsMessages.WinGetElementAttribute message, ScriptWriter writer) {
+		addLocator(message.getLocatorsList(), writer);
 
-		headers.add("#attributeName");
-		values.add(message.getAttributeName());
+		writer.add("#attributeName", message.getAttributeName());
 	}
 }
@@ -19,8 +19,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 import com.exactpro.remotehand.windows.actions.GetElementColor;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinGetElementColorBuilder extends WinBaseBuilder<RhWinActionsMessages.WinGetElementColor> {
 	@Override
@@ -34,11 +33,11 @@ public class WinGetElementColorBuilder extends WinBaseBuilder<RhWinActionsMessag
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinGetElementColor message, List<String> headers, List<String> values) {
-		addLocator(message.getLocatorsList(), headers, values);
+	protected void createActionDetails(RhWinActionsMessages.WinGetElementColor message, ScriptWriter writer) {
+		addLocator(message.getLocatorsList(), writer);
 
-		addIfNotEmpty("#xOffset", message.getXOffset(), headers, values);
-		addIfNotEmpty("#yOffset", message.getYOffset(), headers, values);
+		addIfNotEmpty("#xOffset", message.getXOffset(), writer);
+		addIfNotEmpty("#yOffset", message.getYOffset(), writer);
 	}
 
 	@Override
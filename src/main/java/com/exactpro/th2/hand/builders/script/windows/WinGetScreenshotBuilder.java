@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinGetScreenshotBuilder extends WinBaseBuilder<RhWinActionsMessages.WinGetScreenshot> {
 	@Override
@@ -33,9 +32,9 @@ public class WinGetScreenshotBuilder extends WinBaseBuilder<RhWinActionsMessages
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinGetScreenshot message, List<String> headers, List<String> values) {
+	protected void createActionDetails(RhWinActionsMessages.WinGetScreenshot message, ScriptWriter writer) {
 		if (message.getLocatorsCount() != 0) {
-			addLocator(message.getLocatorsList(), headers, values);
+			addLocator(message.getLocatorsList(), writer);
 		}
 	}
 
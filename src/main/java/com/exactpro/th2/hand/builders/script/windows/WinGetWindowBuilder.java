@@ -18,10 +18,9 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.List;
-
 public class WinGetWindowBuilder extends WinBaseBuilder<RhWinActionsMessages.WinGetWindow> {
 	@Override
 	protected RhWinActionsMessages.WinGetWindow getMessage(RhWinActions action) {
@@ -34,14 +33,12 @@ public class WinGetWindowBuilder extends WinBaseBuilder<RhWinActionsMessages.Win
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinGetWindow message, List<String> headers, List<String> values) {
+	protected void createActionDetails(RhWinActionsMessages.WinGetWindow message, ScriptWriter writer) {
 		String windowName = message.getWindowName();
 		if (StringUtils.isNotEmpty(windowName)) {
-			headers.add(WINDOWNAME);
-			values.add(windowName);
+			writer.add(WINDOWNAME, windowName);
 		} else {
-			headers.add(ACCESSIBILITY_ID);
-			values.add(message.getAccessibilityId());
+			writer.add(ACCESSIBILITY_ID, message.getAccessibilityId());
 		}
 	}
 
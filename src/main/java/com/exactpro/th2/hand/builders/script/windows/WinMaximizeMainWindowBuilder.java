@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinMaximizeMainWindowBuilder extends WinBaseBuilder<RhWinActionsMessages.MaximizeMainWindow> {
 	@Override
@@ -33,7 +32,7 @@ public class WinMaximizeMainWindowBuilder extends WinBaseBuilder<RhWinActionsMes
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.MaximizeMainWindow message, List<String> headers, List<String> values) {
+	protected void createActionDetails(RhWinActionsMessages.MaximizeMainWindow message, ScriptWriter writer) {
 
 	}
 
@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinOpenBuilder extends WinBaseBuilder<RhWinActionsMessages.WinOpen> {
 	@Override
@@ -38,9 +37,9 @@ public class WinOpenBuilder extends WinBaseBuilder<RhWinActionsMessages.WinOpen>
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinOpen message, List<String> headers, List<String> values) {
-		addIfNotEmpty("#workdir", message.getWorkDir(), headers, values);
-		addIfNotEmpty("#execfile", message.getAppFile(), headers, values);
-		addIfNotEmpty("#appArgs", message.getAppArgs(), headers, values);
+	protected void createActionDetails(RhWinActionsMessages.WinOpen message, ScriptWriter writer) {
+		addIfNotEmpty("#workdir", message.getWorkDir(), writer);
+		addIfNotEmpty("#execfile", message.getAppFile(), writer);
+		addIfNotEmpty("#appArgs", message.getAppArgs(), writer);
 	}
 }
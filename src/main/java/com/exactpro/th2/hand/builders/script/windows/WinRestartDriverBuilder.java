@@ -19,8 +19,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 import com.exactpro.remotehand.windows.actions.RestartDriver;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinRestartDriverBuilder extends WinBaseBuilder<RhWinActionsMessages.WinRestartDriver> {
 	@Override
@@ -34,7 +33,7 @@ public class WinRestartDriverBuilder extends WinBaseBuilder<RhWinActionsMessages
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinRestartDriver message, List<String> headers, List<String> values) {
+	protected void createActionDetails(RhWinActionsMessages.WinRestartDriver message, ScriptWriter writer) {
 
 	}
 
@@ -30,6 +30,13 @@ public class WinScriptBuilder extends AbstractScriptBuilder<RhWinActions> {
 	
 	protected final Map<ActionCase, WinBaseBuilder<?>> buildersMap = new ConcurrentHashMap<>();
 
+	public WinScriptBuilder() {
+	}
+
+	public WinScriptBuilder(int templateCacheSize) {
+		super(templateCacheSize);
+	}
+
 	@Override
 	protected List<RhWinActions> getActionsList(RhActionList actions) {
 		return actions.getWin().getWinActionListList();
@@ -19,10 +19,9 @@ package com.exactpro.th2.hand.builders.script.windows;
 import com.exactpro.remotehand.windows.actions.ScrollToElement;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.List;
-
 public class WinScrollToElementBuilder extends WinBaseBuilder<RhWinActionsMessages.WinScrollToElement> {
 	@Override
 	protected RhWinActionsMessages.WinScrollToElement getMessage(RhWinActions action) {
@@ -35,20 +34,19 @@ public class WinScrollToElementBuilder extends WinBaseBuilder<RhWinActionsMessag
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinScrollToElement message, List<String> headers, List<String> values) {
-		addLocator(message.getElementLocatorsList(), headers, values);
-		addLocator(message.getActionLocatorsList(), headers, values, actionLocatorPair);
+	protected void createActionDetails(RhWinActionsMessages.WinScrollToElement message, ScriptWriter writer) {
+		addLocator(message.getElementLocatorsList(), writer);
+		addLocator(message.getActionLocatorsList(), writer, actionLocatorPair);
 
-		addIfNotEmpty("#clickoffsetx", message.getClickOffsetX(), headers, values);
-		addIfNotEmpty("#clickoffsety", message.getClickOffsetY(), headers, values);
+		addIfNotEmpty("#clickoffsetx", message.getClickOffsetX(), writer);
+		addIfNotEmpty("#clickoffsety", message.getClickOffsetY(), writer);
 
-		headers.add("#scrolltype");
-		values.add(convertScrollType(message.getScrollType()));
+		writer.add("#scrolltype", convertScrollType(message.getScrollType()));
 
-		addIfNotEmpty("#maxiterations", message.getMaxIterations(), headers, values);
-		addIfNotEmpty("#shouldbedisplayed", message.getIsElementShouldBeDisplayed(), headers, values);
-		addIfNotEmpty("#elementindom", message.getIsElementInTree(), headers, values);
-		addIfNotEmpty("#textvalue", message.getTextToSend(), headers, values);
+		addIfNotEmpty("#maxiterations", message.getMaxIterations(), writer);
+		addIfNotEmpty("#shouldbedisplayed", message.getIsElementShouldBeDisplayed(), writer);
+		addIfNotEmpty("#elementindom", message.getIsElementInTree(), writer);
+		addIfNotEmpty("#textvalue", message.getTextToSend(), writer);
 	}
 
 	@Override
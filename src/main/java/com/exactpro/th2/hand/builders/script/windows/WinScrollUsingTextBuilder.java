@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinScrollUsingTextBuilder extends WinBaseBuilder<RhWinActionsMessages.WinScrollUsingText> {
 	@Override
@@ -33,12 +32,12 @@ public class WinScrollUsingTextBuilder extends WinBaseBuilder<RhWinActionsMessag
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinScrollUsingText message, List<String> headers, List<String> values) {
-		addLocator(message.getLocatorsList(), headers, values);
-		addLocator(message.getTextLocatorsList(), headers, values, textLocatorPair);
+	protected void createActionDetails(RhWinActionsMessages.WinScrollUsingText message, ScriptWriter writer) {
+		addLocator(message.getLocatorsList(), writer);
+		addLocator(message.getTextLocatorsList(), writer, textLocatorPair);
 
-		addIfNotEmpty("#textToSend", message.getTextToSend(), headers, values);
-		addIfNotEmpty("#maxIterations", message.getMaxIterations(), headers, values);
+		addIfNotEmpty("#textToSend", message.getTextToSend(), writer);
+		addIfNotEmpty("#maxIterations", message.getMaxIterations(), writer);
 	}
 
 	@Override
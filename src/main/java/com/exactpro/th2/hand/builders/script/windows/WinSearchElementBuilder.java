@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinSearchElementBuilder extends WinBaseBuilder<RhWinActionsMessages.WinSearchElement> {
 	@Override
@@ -33,11 +32,10 @@ public class WinSearchElementBuilder extends WinBaseBuilder<RhWinActionsMessages
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinSearchElement message, List<String> headers, List<String> values) {
-		addLocator(message.getLocatorsList(), headers, values);
+	protected void createActionDetails(RhWinActionsMessages.WinSearchElement message, ScriptWriter writer) {
+		addLocator(message.getLocatorsList(), writer);
 
-		headers.add("#multipleElements");
-		values.add(Boolean.toString(message.getMultipleElements()));
+		writer.add("#multipleElements", message.getMultipleElements());
 	}
 
 	@Override
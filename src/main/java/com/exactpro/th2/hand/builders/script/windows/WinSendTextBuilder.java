@@ -16,11 +16,9 @@
 
 package com.exactpro.th2.hand.builders.script.windows;
 
-
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinSendTextBuilder extends WinBaseBuilder<RhWinActionsMessages.WinSendText> {
 	@Override
@@ -39,11 +37,11 @@ public class WinSendTextBuilder extends WinBaseBuilder<RhWinActionsMessages.WinS
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinSendText message, List<String> headers, List<String> values) {
-		addLocator(message.getLocatorsList(), headers, values);
+	protected void createActionDetails(RhWinActionsMessages.WinSendText message, ScriptWriter writer) {
+		addLocator(message.getLocatorsList(), writer);
 
-		addIfNotEmpty("#text", message.getText(), headers, values);
-		addIfNotEmpty("#clearBefore", message.getClearBefore(), headers, values);
-		addIfNotEmpty("#directSend", message.getIsDirectText(), headers, values);
+		addIfNotEmpty("#text", message.getText(), writer);
+		addIfNotEmpty("#clearBefore", message.getClearBefore(), writer);
+		addIfNotEmpty("#directSend", message.getIsDirectText(), writer);
 	}
 }
@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinTableSearchBuilder extends WinBaseBuilder<RhWinActionsMessages.WinTableSearch> {
 	@Override
@@ -33,21 +32,18 @@ public class WinTableSearchBuilder extends WinBaseBuilder<RhWinActionsMessages.W
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinTableSearch message, List<String> headers, List<String> values) {
-		addLocator(message.getLocatorsList(), headers, values);
-
-		headers.add("#filter");
-		values.add(message.getSearchParams());
-
-		headers.add("#column");
-		values.add(message.getTargetColumn());
-
-		addIfNotEmpty("#firstrowindex", message.getFirstRowIndex(), headers, values);
-		addIfNotEmpty("#index", message.getColumnIndex(), headers, values);
-		addIfNotEmpty("#rownameformat", message.getRowNameFormat(), headers, values);
-		addIfNotEmpty("#rowelementnameformat", message.getRowElementNameFormat(), headers, values);
-		addIfNotEmpty("#rowelementvalueformat", message.getRowElementValueFormat(), headers, values);
-		addIfNotEmpty("#saveresult", message.getSaveResult(), headers, values);
+	protected void createActionDetails(RhWinActionsMessages.WinTableSearch message, ScriptWriter writer) {
+		addLocator(message.getLocatorsList(), writer);
+
+		writer.add("#filter", message.getSearchParams());
+		writer.add("#column", message.getTargetColumn());
+
+		addIfNotEmpty("#firstrowindex", message.getFirstRowIndex(), writer);
+		addIfNotEmpty("#index", message.getColumnIndex(), writer);
+		addIfNotEmpty("#rownameformat", message.getRowNameFormat(), writer);
+		addIfNotEmpty("#rowelementnameformat", message.getRowElementNameFormat(), writer);
+		addIfNotEmpty("#rowelementvalueformat", message.getRowElementValueFormat(), writer);
+		addIfNotEmpty("#saveresult", message.getSaveResult(), writer);
 	}
 
 	@Override
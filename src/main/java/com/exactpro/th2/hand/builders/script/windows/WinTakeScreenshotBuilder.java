@@ -19,8 +19,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 import com.exactpro.remotehand.windows.actions.TakeScreenshot;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinTakeScreenshotBuilder extends WinBaseBuilder<RhWinActionsMessages.WinTakeScreenshot> {
 	@Override
@@ -34,13 +33,12 @@ public class WinTakeScreenshotBuilder extends WinBaseBuilder<RhWinActionsMessage
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinTakeScreenshot message, List<String> headers, List<String> values) {
+	protected void createActionDetails(RhWinActionsMessages.WinTakeScreenshot message, ScriptWriter writer) {
 		if (message.getLocatorsCount() != 0) {
-			addLocator(message.getLocatorsList(), headers, values);
+			addLocator(message.getLocatorsList(), writer);
 		}
 		if (!message.getName().isEmpty()) {
-			headers.add("#name");
-			values.add(getActionName());
+			writer.add("#name", getActionName());
 		}
 	}
 
@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinToggleCheckBoxBuilder extends WinBaseBuilder<RhWinActionsMessages.WinToggleCheckBox> {
 	@Override
@@ -33,11 +32,10 @@ public class WinToggleCheckBoxBuilder extends WinBaseBuilder<RhWinActionsMessage
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinToggleCheckBox message, List<String> headers, List<String> values) {
-		addLocator(message.getLocatorsList(), headers, values);
+	protected void createActionDetails(RhWinActionsMessages.WinToggleCheckBox message, ScriptWriter writer) {
+		addLocator(message.getLocatorsList(), writer);
 
-		headers.add("#expectedState");
-		values.add(message.getExpectedState());
+		writer.add("#expectedState", message.getExpectedState());
 	}
 
 	@Override
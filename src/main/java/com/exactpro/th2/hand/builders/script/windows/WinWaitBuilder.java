@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinWaitBuilder extends WinBaseBuilder<RhWinActionsMessages.WinWait> {
 	@Override
@@ -33,9 +32,8 @@ public class WinWaitBuilder extends WinBaseBuilder<RhWinActionsMessages.WinWait>
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinWait message, List<String> headers, List<String> values) {
-		headers.add("#millis");
-		values.add(String.valueOf(message.getMillis()));
+	protected void createActionDetails(RhWinActionsMessages.WinWait message, ScriptWriter writer) {
+		writer.add("#millis", message.getMillis());
 	}
 
 	@Override
@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinWaitForAttributeBuilder extends WinBaseBuilder<RhWinActionsMessages.WinWaitForAttribute> {
 	@Override
@@ -33,13 +32,13 @@ public class WinWaitForAttributeBuilder extends WinBaseBuilder<RhWinActionsMessa
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinWaitForAttribute message, List<String> headers, List<String> values) {
-		addLocator(message.getLocatorsList(), headers, values);
+	protected void createActionDetails(RhWinActionsMessages.WinWaitForAttribute message, ScriptWriter writer) {
+		addLocator(message.getLocatorsList(), writer);
 
-		addIfNotEmpty("#attributeName", message.getAttributeName(), headers, values);
-		addIfNotEmpty("#expectedValue", message.getExpectedValue(), headers, values);
-		addIfNotEmpty("#maxTimeout", message.getMaxTimeout(), headers, values);
-		addIfNotEmpty("#checkInterval", message.getCheckInterval(), headers, values);
+		addIfNotEmpty("#attributeName", message.getAttributeName(), writer);
+		addIfNotEmpty("#expectedValue", message.getExpectedValue(), writer);
+		addIfNotEmpty("#maxTimeout", message.getMaxTimeout(), writer);
+		addIfNotEmpty("#checkInterval", message.getCheckInterval(), writer);
 	}
 
 	@Override
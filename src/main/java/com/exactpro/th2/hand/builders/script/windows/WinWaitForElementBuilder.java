@@ -18,8 +18,7 @@ package com.exactpro.th2.hand.builders.script.windows;
 
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages;
-
-import java.util.List;
+import com.exactpro.th2.hand.builders.script.ScriptWriter;
 
 public class WinWaitForElementBuilder extends WinBaseBuilder<RhWinActionsMessages.WinWaitForElement> {
 	@Override
@@ -33,10 +32,10 @@ public class WinWaitForElementBuilder extends WinBaseBuilder<RhWinActionsMessage
 	}
 
 	@Override
-	protected void createActionDetails(RhWinActionsMessages.WinWaitForElement message, List<String> headers, List<String> values) {
-		addLocator(message.getLocatorsList(), headers, values);
+	protected void createActionDetails(RhWinActionsMessages.WinWaitForElement message, ScriptWriter writer) {
+		addLocator(message.getLocatorsList(), writer);
 
-		addIfNotEmpty("#timeout", message.getTimeout(), headers, values);
+		addIfNotEmpty("#timeout", message.getTimeout(), writer);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2021 Exactpro (Exactpro Systems Limited)
+ * Copyright 2020-2026 Exactpro (Exactpro Systems Limited)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,27 +17,36 @@
 package com.exactpro.th2.hand.requestexecutors;
 
 import com.exactpro.remotehand.ActionResult;
-import com.exactpro.remotehand.requests.ExecutionRequest;
 import com.exactpro.remotehand.rhdata.RhResponseCode;
 import com.exactpro.remotehand.rhdata.RhScriptResult;
 import com.exactpro.th2.act.grpc.hand.ResultDetails;
 import com.exactpro.th2.act.grpc.hand.RhActionList;
 import com.exactpro.th2.act.grpc.hand.RhActionsBatch;
 import com.exactpro.th2.act.grpc.hand.RhBatchResponse;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.BaseWinParams;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
 import com.exactpro.th2.common.grpc.Event;
 import com.exactpro.th2.common.grpc.MessageID;
 import com.exactpro.th2.hand.messages.responseexecutor.ActionsBatchExecutorResponse;
-import com.exactpro.th2.hand.services.HandSessionExchange;
 import com.exactpro.th2.hand.services.HandSessionHandler;
 import com.exactpro.th2.hand.services.MessageHandler;
 import com.exactpro.th2.hand.services.estore.EventStoreHandler;
 import com.exactpro.th2.hand.utils.Utils;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
 
@@ -45,6 +54,22 @@ public class ActionsBatchExecutor implements RequestExecutor<RhActionsBatch, Act
 	
 	private final Logger logger = LoggerFactory.getLogger(ActionsBatchExecutor.class);
 
+	private static final Histogram PHASE_DURATION = Histogram.build()
+			.name("th2_hand_batch_phase_duration_seconds")
+			.help("Time of phases of actions batch execution")
+			.labelNames("phase")
+			.buckets(0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120)
+			.register();
+	private static final Histogram.Child SCRIPT_BUILD_DURATION = PHASE_DURATION.labels("script_build");
+	private static final Histogram.Child DRIVER_EXECUTION_DURATION = PHASE_DURATION.labels("driver_execution");
+	private static final Histogram.Child MSTORE_SEND_DURATION = PHASE_DURATION.labels("mstore_send");
+	private static final Histogram.Child EVENT_SEND_DURATION = PHASE_DURATION.labels("event_send");
+	private static final Counter ACTIONS = Counter.build()
+			.name("th2_hand_actions_total")
+			.help("Actions received in batches by type of driver and action")
+			.labelNames("type", "action")
+			.register();
+
 	private String sessionId;
 	private final MessageHandler messageHandler;
 	private final List<MessageID> messageIDs = new ArrayList<>();
@@ -61,49 +86,218 @@ public class ActionsBatchExecutor implements RequestExecutor<RhActionsBatch, Act
 
 	@Override
 	public ActionsBatchExecutorResponse execute(RhActionsBatch request) {
+		return execute(request, null);
+	}
+
+	/**
+	 * Executes the batch passing a response with the result of each action to the listener as soon as the action is done.
+	 * RemoteHand reports results only when a script ends, so actions that do not depend on each other 
+	 * are sent to the session one by one as separate scripts, the execution stops on the first failed action. 
+	 * Actions sharing state (see {@link #hasIndependentActions(RhActionList)}) are sent as a single script 
+	 * and their results are passed to the listener when it ends. 
+	 * If the listener is null, the batch is sent as a single script.
+	 * Request and response of the whole batch are stored to mstore once in both cases.
+	 */
+	public ActionsBatchExecutorResponse execute(RhActionsBatch request, Consumer<RhBatchResponse> partialResponseListener) {
 		Instant executionStartTime = Instant.now();
-		RhScriptResult scriptResult;
+		countActions(request.getRhAction());
+		List<RhActionsBatch> parts = partialResponseListener != null && hasIndependentActions(request.getRhAction()) 
+				? splitRequest(request) : Collections.singletonList(request);
+		List<ResultDetails> resultDetails = new ArrayList<>();
+		RhScriptResult scriptResult = executeScripts(request, parts, resultDetails, partialResponseListener);
+
+		ActionsBatchExecutorResponse executorResponse = createResponse(scriptResult, resultDetails);
+		try (Histogram.Timer ignored = EVENT_SEND_DURATION.startTimer()) {
+			buildAndSendEvent(executionStartTime, request, executorResponse);
+		}
+		return executorResponse;
+	}
+
+
+	private RhScriptResult executeScripts(RhActionsBatch request, List<RhActionsBatch> parts, 
+	                                      List<ResultDetails> resultDetails, Consumer<RhBatchResponse> partialResponseListener) {
+		RhScriptResult scriptResult = null;
 		String sessionId = "th2_hand";
+		HandSessionHandler sessionHandler = null;
 		try {
-			HandSessionHandler sessionHandler = getSessionHandler(request);
-			messageIDs.addAll(messageHandler.getMessageStoreHandler().onRequest(request, sessionAlias));
-			RhActionList actions = request.getRhAction();
-			String script = messageHandler.getScriptBuilder().buildScript(actions);
-			sessionHandler.handle(new ExecutionRequest(script), HandSessionExchange.getStub());
-			scriptResult = sessionHandler.waitAndGet(messageHandler.getConfig().getResponseTimeout());
+			sessionHandler = getSessionHandler(request);
+			sessionHandler.onBatchStarted();
+			try (Histogram.Timer ignored = MSTORE_SEND_DURATION.startTimer()) {
+				messageIDs.addAll(messageHandler.getMessageStoreHandler().onRequest(request, sessionAlias));
+			}
+			for (RhActionsBatch part : parts) {
+				RhScriptResult partResult = executeScript(sessionHandler, part);
+				scriptResult = scriptResult == null ? partResult : merge(scriptResult, partResult);
+				List<ResultDetails> partDetails = parseResultDetails(partResult.getActionResults());
+				resultDetails.addAll(partDetails);
+				if (partialResponseListener != null) 
+					partDetails.forEach(details -> partialResponseListener.accept(createPartialResponse(partResult, details)));
+				if (!partResult.isSuccess())
+					break;
+			}
 		} catch (Exception e) {
-			scriptResult = new RhScriptResult();
+			if (scriptResult == null)
+				scriptResult = new RhScriptResult();
 			scriptResult.setCode(RhResponseCode.EXECUTION_ERROR.getCode());
 			String errMsg = "Error occurred while executing commands";
 			scriptResult.setErrorMessage(errMsg);
 			logger.warn(errMsg, e);
+		} finally {
+			if (sessionHandler != null)
+				sessionHandler.onBatchFinished();
 		}
 
-		messageIDs.add(messageHandler.getMessageStoreHandler().onResponse(scriptResult, sessionAlias, sessionId));
-		messageIDs.addAll(messageHandler.getMessageStoreHandler().storeScreenshots(scriptResult.getScreenshotIds(), screenshotSessionAlias));
+		try (Histogram.Timer ignored = MSTORE_SEND_DURATION.startTimer()) {
+			messageIDs.add(messageHandler.getMessageStoreHandler().onResponse(scriptResult, sessionAlias, sessionId));
+			messageIDs.addAll(messageHandler.getMessageStoreHandler().storeScreenshots(scriptResult.getScreenshotIds(), screenshotSessionAlias));
+		}
+		return scriptResult;
+	}
 
-		ActionsBatchExecutorResponse executorResponse = createResponse(scriptResult);
-		buildAndSendEvent(executionStartTime, request, executorResponse);
-		return executorResponse;
+	private RhScriptResult executeScript(HandSessionHandler sessionHandler, RhActionsBatch request) throws Exception {
+		RhActionList actions = request.getRhAction();
+		String script;
+		try (Histogram.Timer ignored = SCRIPT_BUILD_DURATION.startTimer()) {
+			script = messageHandler.getScriptBuilder().buildScript(actions);
+		}
+		long scriptStartTime = System.currentTimeMillis();
+		RhScriptResult scriptResult;
+		try (Histogram.Timer ignored = DRIVER_EXECUTION_DURATION.startTimer()) {
+			sessionHandler.startScript(script);
+			scriptResult = sessionHandler.waitAndGet(messageHandler.getConfig().getResponseTimeout());
+		}
+		sessionHandler.getEndpoint().recordLatency(System.currentTimeMillis() - scriptStartTime);
+		return scriptResult;
+	}
+
+	/**
+	 * Adds results of the next script to results of the batch, status of the batch is the status of the last script
+	 */
+	private static RhScriptResult merge(RhScriptResult batchResult, RhScriptResult partResult) {
+		batchResult.getActionResults().addAll(partResult.getActionResults());
+		batchResult.getScreenshotIds().addAll(partResult.getScreenshotIds());
+		batchResult.setCode(partResult.getCode());
+		batchResult.setErrorMessage(partResult.getErrorMessage());
+		return batchResult;
+	}
+
+	/**
+	 * Actions of a web batch depend on each other if it finds elements for next actions by {@code #id}.
+	 * Actions of a win batch depend on each other if they have ids, conditions of execution or save results and elements.
+	 * @return true if actions can be sent to RemoteHand as separate scripts
+	 */
+	static boolean hasIndependentActions(RhActionList actions) {
+		switch (actions.getListCase()) {
+			case WEB:
+				return actions.getWeb().getWebActionListList().stream()
+						.noneMatch(action -> action.getActionCase() == RhWebActions.ActionCase.FINDELEMENT);
+			case WIN:
+				return actions.getWin().getWinActionListList().stream().noneMatch(ActionsBatchExecutor::sharesState);
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * Payloads of win actions have different types, so their common fields are checked via reflection. 
+	 * Only fields with non-default values are returned by {@link Message#getAllFields()}.
+	 */
+	private static boolean sharesState(RhWinActions action) {
+		FieldDescriptor payloadField = RhWinActions.getDescriptor().findFieldByNumber(action.getActionCase().getNumber());
+		if (payloadField == null || payloadField.getJavaType() != FieldDescriptor.JavaType.MESSAGE)
+			return false;
+
+		Message payload = (Message) action.getField(payloadField);
+		for (Map.Entry<FieldDescriptor, Object> field : payload.getAllFields().entrySet()) {
+			switch (field.getKey().getJsonName()) {
+				case "baseParams":
+					BaseWinParams baseParams = (BaseWinParams) field.getValue();
+					if (!baseParams.getId().isEmpty() || !baseParams.getExecute().isEmpty())
+						return true;
+					break;
+				case "saveResult":
+				case "saveElement":
+					return true;
+				default:
+					break;
+			}
+		}
+		return false;
 	}
 
+	/**
+	 * Labels are names of action cases, so number of series is limited by the protocol
+	 */
+	private static void countActions(RhActionList actions) {
+		switch (actions.getListCase()) {
+			case WEB:
+				for (RhWebActions action : actions.getWeb().getWebActionListList())
+					ACTIONS.labels("web", action.getActionCase().name()).inc();
+				break;
+			case WIN:
+				for (RhWinActions action : actions.getWin().getWinActionListList())
+					ACTIONS.labels("win", action.getActionCase().name()).inc();
+				break;
+			default:
+				break;
+		}
+	}
+
+	private List<RhActionsBatch> splitRequest(RhActionsBatch request) {
+		RhActionList actions = request.getRhAction();
+		List<RhActionList> parts = new ArrayList<>();
+		switch (actions.getListCase()) {
+			case WEB:
+				for (RhWebActions action : actions.getWeb().getWebActionListList()) {
+					RhActionList.Builder part = actions.toBuilder();
+					part.getWebBuilder().clearWebActionList().addWebActionList(action);
+					parts.add(part.build());
+				}
+				break;
+			case WIN:
+				for (RhWinActions action : actions.getWin().getWinActionListList()) {
+					RhActionList.Builder part = actions.toBuilder();
+					part.getWinBuilder().clearWinActionList().addWinActionList(action);
+					parts.add(part.build());
+				}
+				break;
+			default:
+				break;
+		}
+
+		if (parts.isEmpty())
+			return Collections.singletonList(request);
+		return parts.stream().map(part -> request.toBuilder().setRhAction(part).build()).collect(Collectors.toList());
+	}
 
 	private HandSessionHandler getSessionHandler(RhActionsBatch request) {
 		sessionId = request.getSessionId().getId();
 		return messageHandler.getRhConnectionManager().getSessionHandler(sessionId);
 	}
 
-	private ActionsBatchExecutorResponse createResponse(RhScriptResult scriptResult) {
-		RhBatchResponse handResponse = createHandResponse(scriptResult);
+	/**
+	 * @return response with the result of one action and the status of the script it was executed by
+	 */
+	private RhBatchResponse createPartialResponse(RhScriptResult partResult, ResultDetails resultDetails) {
+		return RhBatchResponse.newBuilder()
+				.setScriptStatus(convertToScriptExecutionStatus(RhResponseCode.byCode(partResult.getCode())))
+				.setErrorMessage(defaultIfEmpty(partResult.getErrorMessage(), ""))
+				.setSessionId(sessionId)
+				.addResult(resultDetails)
+				.build();
+	}
+
+	private ActionsBatchExecutorResponse createResponse(RhScriptResult scriptResult, List<ResultDetails> resultDetails) {
+		RhBatchResponse handResponse = createHandResponse(scriptResult, resultDetails);
 		return new ActionsBatchExecutorResponse(handResponse, scriptResult, messageIDs);
 	}
 
-	private RhBatchResponse createHandResponse(RhScriptResult result) {
+	private RhBatchResponse createHandResponse(RhScriptResult result, List<ResultDetails> resultDetails) {
 		return RhBatchResponse.newBuilder()
 				.setScriptStatus(convertToScriptExecutionStatus(RhResponseCode.byCode(result.getCode())))
 				.setErrorMessage(defaultIfEmpty(result.getErrorMessage(), ""))
 				.setSessionId(sessionId)
-				.addAllResult(parseResultDetails(result.getActionResults()))
+				.addAllResult(resultDetails)
 				.build();
 	}
 
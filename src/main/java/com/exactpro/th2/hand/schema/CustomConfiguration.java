@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2023 Exactpro (Exactpro Systems Limited)
+ * Copyright 2020-2026 Exactpro (Exactpro Systems Limited)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,14 @@ public class CustomConfiguration {
 	private static final String DEFAULT_SESSION_ALIAS = "th2-hand";
 	private static final int DEFAULT_RESPONSE_TIMEOUT = 120;
 	private static final long DEFAULT_MESSAGE_BATCH_LIMIT = 1024 * 1024; // 1 MB
+	private static final long DEFAULT_MESSAGE_BATCH_LINGER_MS = 100;
+	private static final int DEFAULT_MESSAGE_QUEUE_SIZE = 10_000;
+	private static final int DEFAULT_BATCH_EXECUTION_THREADS = 32;
+	private static final int DEFAULT_BATCH_EXECUTION_QUEUE_SIZE = 1000;
+	private static final int DEFAULT_SCRIPT_TEMPLATE_CACHE_SIZE = 1000;
+	private static final int DEFAULT_SESSION_QUEUE_SIZE = 100;
+	private static final String DEFAULT_BATCH_PRIORITY_KEY = "priority";
+	private static final int DEFAULT_BATCH_PRIORITY_AGING_SEC = 30;
 
 	@JsonProperty(value="session-alias", required = true, defaultValue = DEFAULT_SESSION_ALIAS)
 	private String sessionAlias = DEFAULT_SESSION_ALIAS;
@@ -38,6 +46,12 @@ public class CustomConfiguration {
 	@JsonProperty(value="message-batch-limit")
 	private long messageBatchLimit = DEFAULT_MESSAGE_BATCH_LIMIT;
 
+	@JsonProperty(value="message-batch-linger-ms")
+	private long messageBatchLingerMs = DEFAULT_MESSAGE_BATCH_LINGER_MS;
+
+	@JsonProperty(value="message-queue-size")
+	private int messageQueueSize = DEFAULT_MESSAGE_QUEUE_SIZE;
+
 	@JsonProperty(value="driversMapping", required = true)
 	private Map<String, Config.DriverMapping> driversMapping;
 
@@ -47,6 +61,51 @@ public class CustomConfiguration {
 	@JsonProperty(value="responseTimeoutSec")
 	private int responseTimeout = DEFAULT_RESPONSE_TIMEOUT;
 
+	@JsonProperty(value="batchExecutionThreads")
+	private int batchExecutionThreads = DEFAULT_BATCH_EXECUTION_THREADS;
+
+	@JsonProperty(value="batchExecutionQueueSize")
+	private int batchExecutionQueueSize = DEFAULT_BATCH_EXECUTION_QUEUE_SIZE;
+
+	@JsonProperty(value="useVirtualThreads")
+	private boolean useVirtualThreads = false;
+
+	@JsonProperty(value="virtualBatchExecutionLimit")
+	private int virtualBatchExecutionLimit = 0;
+
+	@JsonProperty(value="scriptTemplateCacheSize")
+	private int scriptTemplateCacheSize = DEFAULT_SCRIPT_TEMPLATE_CACHE_SIZE;
+
+	@JsonProperty(value="sessionIdleTimeoutSec")
+	private int sessionIdleTimeoutSec = 0;
+
+	@JsonProperty(value="maxSessionsPerTarget")
+	private int maxSessionsPerTarget = 0;
+
+	@JsonProperty(value="sessionRegisterTimeoutSec")
+	private int sessionRegisterTimeoutSec = 0;
+
+	@JsonProperty(value="sessionQueueSize")
+	private int sessionQueueSize = DEFAULT_SESSION_QUEUE_SIZE;
+
+	@JsonProperty(value="sessionQueueTimeoutSec")
+	private int sessionQueueTimeoutSec = 0;
+
+	@JsonProperty(value="batchPriorityKey")
+	private String batchPriorityKey = DEFAULT_BATCH_PRIORITY_KEY;
+
+	@JsonProperty(value="batchPriorityAgingSec")
+	private int batchPriorityAgingSec = DEFAULT_BATCH_PRIORITY_AGING_SEC;
+
+	@JsonProperty(value="sessionPool")
+	private SessionPoolConfiguration sessionPool = new SessionPoolConfiguration();
+
+	@JsonProperty(value="eventBatching")
+	private EventBatchingConfiguration eventBatching = new EventBatchingConfiguration();
+
+	@JsonProperty(value="screenshotStorage")
+	private ScreenshotStorageConfiguration screenshotStorage = new ScreenshotStorageConfiguration();
+
 	public Map<String, Config.DriverMapping> getDriversMapping() {
 		return driversMapping;
 	}
@@ -77,4 +136,72 @@ public class CustomConfiguration {
 	public long getMessageBatchLimit() {
 		return messageBatchLimit;
 	}
-}
\ No newline at end of file
+
+	public long getMessageBatchLingerMs() {
+		return messageBatchLingerMs;
+	}
+
+	public int getMessageQueueSize() {
+		return messageQueueSize;
+	}
+
+	public int getBatchExecutionThreads() {
+		return batchExecutionThreads;
+	}
+
+	public int getBatchExecutionQueueSize() {
+		return batchExecutionQueueSize;
+	}
+
+	public boolean isUseVirtualThreads() {
+		return useVirtualThreads;
+	}
+
+	public int getVirtualBatchExecutionLimit() {
+		return virtualBatchExecutionLimit;
+	}
+
+	public int getScriptTemplateCacheSize() {
+		return scriptTemplateCacheSize;
+	}
+
+	public int getSessionIdleTimeoutSec() {
+		return sessionIdleTimeoutSec;
+	}
+
+	public int getMaxSessionsPerTarget() {
+		return maxSessionsPerTarget;
+	}
+
+	public int getSessionRegisterTimeoutSec() {
+		return sessionRegisterTimeoutSec;
+	}
+
+	public int getSessionQueueSize() {
+		return sessionQueueSize;
+	}
+
+	public int getSessionQueueTimeoutSec() {
+		return sessionQueueTimeoutSec;
+	}
+
+	public String getBatchPriorityKey() {
+		return batchPriorityKey;
+	}
+
+	public int getBatchPriorityAgingSec() {
+		return batchPriorityAgingSec;
+	}
+
+	public SessionPoolConfiguration getSessionPool() {
+		return sessionPool;
+	}
+
+	public EventBatchingConfiguration getEventBatching() {
+		return eventBatching;
+	}
+
+	public ScreenshotStorageConfiguration getScreenshotStorage() {
+		return screenshotStorage;
+	}
+}
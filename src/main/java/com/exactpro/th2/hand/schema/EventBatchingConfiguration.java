@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.schema;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@SuppressWarnings({"FieldMayBeFinal", "FieldCanBeLocal"})
+public class EventBatchingConfiguration {
+	private static final int DEFAULT_MAX_EVENTS = 100;
+	private static final long DEFAULT_MAX_BYTES = 1024 * 1024; // 1 MB
+	private static final long DEFAULT_LINGER_MS = 100;
+	private static final int DEFAULT_QUEUE_SIZE = 10_000;
+
+	@JsonProperty(value="maxEvents")
+	private int maxEvents = DEFAULT_MAX_EVENTS;
+
+	@JsonProperty(value="maxBytes")
+	private long maxBytes = DEFAULT_MAX_BYTES;
+
+	@JsonProperty(value="lingerMs")
+	private long lingerMs = DEFAULT_LINGER_MS;
+
+	@JsonProperty(value="queueSize")
+	private int queueSize = DEFAULT_QUEUE_SIZE;
+
+	@JsonProperty(value="backpressure")
+	private Backpressure backpressure = Backpressure.BLOCK;
+
+	public int getMaxEvents() {
+		return maxEvents;
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	public long getLingerMs() {
+		return lingerMs;
+	}
+
+	public int getQueueSize() {
+		return queueSize;
+	}
+
+	public Backpressure getBackpressure() {
+		return backpressure;
+	}
+
+	public enum Backpressure {
+		/** Caller waits for free space in the queue */
+		BLOCK,
+		/** Event is dropped with an error in log */
+		DROP
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.schema;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@SuppressWarnings({"FieldMayBeFinal", "FieldCanBeLocal"})
+public class ScreenshotStorageConfiguration {
+	private static final int DEFAULT_WORKERS = 2;
+	private static final int DEFAULT_QUEUE_SIZE = 1000;
+	private static final int DEFAULT_DEDUPLICATION_CACHE_SIZE = 1000;
+
+	@JsonProperty(value="workers")
+	private int workers = DEFAULT_WORKERS;
+
+	@JsonProperty(value="queueSize")
+	private int queueSize = DEFAULT_QUEUE_SIZE;
+
+	@JsonProperty(value="deduplicate")
+	private boolean deduplicate = false;
+
+	@JsonProperty(value="deduplicationCacheSize")
+	private int deduplicationCacheSize = DEFAULT_DEDUPLICATION_CACHE_SIZE;
+
+	@JsonProperty(value="fragmentOversized")
+	private boolean fragmentOversized = false;
+
+	@JsonProperty(value="transcoding")
+	private ScreenshotTranscodingConfiguration transcoding = new ScreenshotTranscodingConfiguration();
+
+	public int getWorkers() {
+		return workers;
+	}
+
+	public int getQueueSize() {
+		return queueSize;
+	}
+
+	public boolean isDeduplicate() {
+		return deduplicate;
+	}
+
+	public int getDeduplicationCacheSize() {
+		return deduplicationCacheSize;
+	}
+
+	public ScreenshotTranscodingConfiguration getTranscoding() {
+		return transcoding;
+	}
+
+	public boolean isFragmentOversized() {
+		return fragmentOversized;
+	}
+}
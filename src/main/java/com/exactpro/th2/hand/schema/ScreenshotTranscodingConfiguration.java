@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.schema;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@SuppressWarnings({"FieldMayBeFinal", "FieldCanBeLocal"})
+public class ScreenshotTranscodingConfiguration {
+	private static final float DEFAULT_QUALITY = 0.8f;
+
+	@JsonProperty(value="format")
+	private String format = null;
+
+	@JsonProperty(value="quality")
+	private float quality = DEFAULT_QUALITY;
+
+	@JsonProperty(value="maxWidth")
+	private int maxWidth = 0;
+
+	@JsonProperty(value="maxHeight")
+	private int maxHeight = 0;
+
+	@JsonProperty(value="greyscale")
+	private boolean greyscale = false;
+
+	public boolean isEnabled() {
+		return format != null && !format.isEmpty();
+	}
+
+	public String getFormat() {
+		return format;
+	}
+
+	public float getQuality() {
+		return quality;
+	}
+
+	public int getMaxWidth() {
+		return maxWidth;
+	}
+
+	public int getMaxHeight() {
+		return maxHeight;
+	}
+
+	public boolean isGreyscale() {
+		return greyscale;
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.schema;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@SuppressWarnings({"FieldMayBeFinal", "FieldCanBeLocal"})
+public class SessionPoolConfiguration {
+	private static final long DEFAULT_MAX_IDLE_TIME_SEC = 600;
+
+	@JsonProperty(value="size")
+	private int size = 0;
+
+	@JsonProperty(value="maxIdleTimeSec")
+	private long maxIdleTimeSec = DEFAULT_MAX_IDLE_TIME_SEC;
+
+	public int getSize() {
+		return size;
+	}
+
+	public long getMaxIdleTimeSec() {
+		return maxIdleTimeSec;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2021 Exactpro (Exactpro Systems Limited)
+ * Copyright 2020-2026 Exactpro (Exactpro Systems Limited)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,8 @@ import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.RejectedExecutionException;
+
 public class HandBaseService extends RhBatchImplBase implements IHandService {
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -65,8 +67,20 @@ public class HandBaseService extends RhBatchImplBase implements IHandService {
 	@Override
 	public void executeRhActionsBatch(RhActionsBatch request, StreamObserver<RhBatchResponse> responseObserver) {
 		logger.trace("Action: '{}', request: '{}'", "executeRhActionsBatch", TextFormat.shortDebugString(request));
-		responseObserver.onNext(messageHandler.handleActionsBatchRequest(request));
-		responseObserver.onCompleted();
+		try {
+			messageHandler.handleActionsBatchRequestAsync(request).whenComplete((response, error) -> {
+				if (error != null) {
+					logger.error("Error while executing actions batch", error);
+					responseObserver.onError(new HandException("Error while executing actions batch", MessageHandler.unwrap(error)));
+					return;
+				}
+				responseObserver.onNext(response);
+				responseObserver.onCompleted();
+			});
+		} catch (RejectedExecutionException e) {
+			logger.error("Actions batch for session '{}' is rejected", request.getSessionId().getId(), e);
+			responseObserver.onError(new HandException("Hand is overloaded, actions batch is rejected", e));
+		}
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*
- *  Copyright 2020-2021 Exactpro (Exactpro Systems Limited)
+ *  Copyright 2020-2026 Exactpro (Exactpro Systems Limited)
  *
  *  Licensed under the Apache License, Version 2.0 (the "License");
  *  you may not use this file except in compliance with the License.
@@ -18,33 +18,126 @@ package com.exactpro.th2.hand.services;
 
 import com.exactpro.remotehand.IRemoteHandManager;
 import com.exactpro.remotehand.ScriptExecuteException;
+import com.exactpro.remotehand.requests.ExecutionRequest;
 import com.exactpro.remotehand.rhdata.RhResponseCode;
 import com.exactpro.remotehand.rhdata.RhScriptResult;
 import com.exactpro.remotehand.sessions.SessionHandler;
+import com.exactpro.th2.hand.DriverEndpoint;
 import com.exactpro.th2.hand.RhConnectionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class HandSessionHandler extends SessionHandler {
 	
 	private static final Logger logger = LoggerFactory.getLogger(HandSessionHandler.class);
+	private static final long MIN_POLL_INTERVAL_MS = 5;
+	private static final long MAX_POLL_INTERVAL_MS = 200;
 
 	private final RhConnectionManager connectionManager;
+	private final String targetServer;
+	private final DriverEndpoint endpoint;
+	private final AtomicInteger executingBatches = new AtomicInteger();
+	private final SessionBatchQueue batchQueue;
+	private volatile long lastActivity = System.currentTimeMillis();
 	private volatile boolean closed = false;
 
-	public HandSessionHandler(String id, IRemoteHandManager manager, RhConnectionManager connectionManager) {
+	public HandSessionHandler(String id, String targetServer, DriverEndpoint endpoint, IRemoteHandManager manager, 
+	                          RhConnectionManager connectionManager) {
 		super(id, manager);
+		this.targetServer = targetServer;
+		this.endpoint = endpoint;
 		this.connectionManager = connectionManager;
+		this.batchQueue = new SessionBatchQueue(id, connectionManager.getConfig().getSessionQueueSize(), 
+				connectionManager.getConfig().getSessionQueueTimeoutSec());
 	}
 
+	public String getTargetServer() {
+		return targetServer;
+	}
+
+	public DriverEndpoint getEndpoint() {
+		return endpoint;
+	}
+
+	/**
+	 * @return queue of batches waiting for execution in this session
+	 */
+	public SessionBatchQueue getBatchQueue() {
+		return batchQueue;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	public long getLastActivity() {
+		return lastActivity;
+	}
+
+	/**
+	 * @return true if a batch is executed or batches wait in the queue of the session
+	 */
+	public boolean isExecuting() {
+		return executingBatches.get() > 0 || batchQueue.isBusy();
+	}
+
+	/**
+	 * Claims the session for closing if it has no batches and has been idle since the given time. 
+	 * Batches submitted after the claim are rejected by the queue of the session.
+	 * @return true if the session is claimed and should be closed by the caller
+	 */
+	public boolean claimIfIdle(long minLastActivity) {
+		return batchQueue.closeIfIdle(() -> executingBatches.get() == 0 && lastActivity < minLastActivity);
+	}
+
+	/**
+	 * Called when the session is registered, time spent in the pool is not counted as idle time of the registered session
+	 */
+	public void onRegistered() {
+		this.lastActivity = System.currentTimeMillis();
+	}
+
+	/**
+	 * Fails batches waiting in the queue when the session is unregistered, the executed batch is not interrupted. 
+	 * Batches submitted later to the queue are rejected.
+	 */
+	public void onUnregistered() {
+		batchQueue.close();
+	}
+
+	public void onBatchStarted() {
+		executingBatches.incrementAndGet();
+		lastActivity = System.currentTimeMillis();
+	}
+
+	public void onBatchFinished() {
+		lastActivity = System.currentTimeMillis();
+		executingBatches.decrementAndGet();
+	}
+
+
+	/**
+	 * Starts execution of the script by RemoteHand, the result is got by {@link #waitAndGet(int)}
+	 */
+	public void startScript(String script) throws Exception {
+		handle(new ExecutionRequest(script), HandSessionExchange.getStub());
+	}
 
 	public RhScriptResult waitAndGet(int waitInSeconds) throws ScriptExecuteException {
-		long timeOut = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(waitInSeconds);
-		while (scriptProcessor.isBusy()) {
+		long timeOut = System.nanoTime() + TimeUnit.SECONDS.toNanos(waitInSeconds);
+		// Script processor has no completion callback, so the result is polled starting with a short interval
+		// which grows up to MAX_POLL_INTERVAL_MS. Short actions are picked up almost immediately this way.
+		long pollInterval = MIN_POLL_INTERVAL_MS;
+		while (isScriptRunning()) {
+			long remaining = timeOut - System.nanoTime();
+			if (remaining <= 0)
+				throw new ScriptExecuteException("Timeout after " + waitInSeconds + " seconds waiting for result.");
+
 			try {
-				Thread.sleep(1000);
+				Thread.sleep(Math.min(pollInterval, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
 			} catch (InterruptedException e) {
 				logger.debug("Script execution for session '" + getId() + "' has been interrupted", e);
 				RhScriptResult scriptResult = new RhScriptResult();
@@ -52,11 +145,20 @@ public class HandSessionHandler extends SessionHandler {
 				scriptResult.setErrorMessage("Script execution has been interrupted");
 				return scriptResult;
 			}
-
-			if (timeOut <= System.currentTimeMillis())
-				throw new ScriptExecuteException("Timeout after " + waitInSeconds + " seconds waiting for result.");
+			pollInterval = Math.min(pollInterval * 2, MAX_POLL_INTERVAL_MS);
 		}
 
+		return getScriptResult();
+	}
+
+	/**
+	 * @return true while RemoteHand executes the script started by {@link #startScript(String)}
+	 */
+	protected boolean isScriptRunning() {
+		return scriptProcessor.isBusy();
+	}
+
+	protected RhScriptResult getScriptResult() {
 		return scriptProcessor.getResult();
 	}
 
@@ -69,8 +171,9 @@ public class HandSessionHandler extends SessionHandler {
 	public void close() {
 		if (!closed) {
 			this.closed = true;
+			batchQueue.close();
 			super.close();
-			this.connectionManager.closeSessionHandler(getId());
+			this.connectionManager.onSessionClosed(this);
 		}
 	}
 }
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.services;
+
+import com.exactpro.th2.act.grpc.hand.RhActionsBatch;
+import com.exactpro.th2.act.grpc.hand.RhBatchResponse;
+import com.exactpro.th2.hand.HandException;
+import com.exactpro.th2.hand.IHandService;
+import com.google.protobuf.TextFormat;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streaming counterpart of {@link HandBaseService}. 
+ * The service is not a part of th2-grpc-hand, so its methods are described here, 
+ * clients can create calls with the same method descriptors.
+ */
+public class HandStreamingService implements IHandService {
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	public static final String SERVICE_NAME = "th2.hand.RhBatchStreaming";
+
+	/**
+	 * Streams a response with a single result and the status of the script it comes from as soon as every action 
+	 * of the batch is done. The last response contains the status of the whole batch and no results.
+	 */
+	public static final MethodDescriptor<RhActionsBatch, RhBatchResponse> EXECUTE_RH_ACTIONS_BATCH_STREAM_METHOD =
+			MethodDescriptor.<RhActionsBatch, RhBatchResponse>newBuilder()
+					.setType(MethodDescriptor.MethodType.SERVER_STREAMING)
+					.setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "executeRhActionsBatchStream"))
+					.setRequestMarshaller(ProtoUtils.marshaller(RhActionsBatch.getDefaultInstance()))
+					.setResponseMarshaller(ProtoUtils.marshaller(RhBatchResponse.getDefaultInstance()))
+					.build();
+
+	/**
+	 * Bidirectional stream bound to the session of the first received batch. 
+	 * Batches are executed one by one in the order they are received, a response is sent for each of them. 
+	 * The client can send up to {@link #PREFETCHED_BATCHES} batches ahead of responses.
+	 */
+	public static final MethodDescriptor<RhActionsBatch, RhBatchResponse> EXECUTE_RH_ACTIONS_BATCHES_METHOD =
+			MethodDescriptor.<RhActionsBatch, RhBatchResponse>newBuilder()
+					.setType(MethodDescriptor.MethodType.BIDI_STREAMING)
+					.setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "executeRhActionsBatches"))
+					.setRequestMarshaller(ProtoUtils.marshaller(RhActionsBatch.getDefaultInstance()))
+					.setResponseMarshaller(ProtoUtils.marshaller(RhBatchResponse.getDefaultInstance()))
+					.build();
+
+	/** One batch is executed while the next ones wait in the queue of the session, so there is no idle gap between them */
+	private static final int PREFETCHED_BATCHES = 4;
+	/** Interval of checking whether the call is cancelled while a partial response waits for the client */
+	private static final long READY_CHECK_INTERVAL_MS = 1000;
+
+	private MessageHandler messageHandler;
+
+	@Override
+	public void init(MessageHandler messageHandler) throws Exception {
+		this.messageHandler = messageHandler;
+	}
+
+	@Override
+	public ServerServiceDefinition bindService() {
+		return ServerServiceDefinition.builder(SERVICE_NAME)
+				.addMethod(EXECUTE_RH_ACTIONS_BATCH_STREAM_METHOD, ServerCalls.asyncServerStreamingCall(this::executeRhActionsBatchStream))
+				.addMethod(EXECUTE_RH_ACTIONS_BATCHES_METHOD, ServerCalls.asyncBidiStreamingCall(this::executeRhActionsBatches))
+				.build();
+	}
+
+	/**
+	 * Partial responses are sent by the thread executing the batch, it waits while the client does not read them, 
+	 * so responses are not buffered without limit
+	 */
+	public void executeRhActionsBatchStream(RhActionsBatch request, StreamObserver<RhBatchResponse> responseObserver) {
+		logger.trace("Action: '{}', request: '{}'", "executeRhActionsBatchStream", TextFormat.shortDebugString(request));
+		String sessionId = request.getSessionId().getId();
+		ServerCallStreamObserver<RhBatchResponse> serverObserver = (ServerCallStreamObserver<RhBatchResponse>) responseObserver;
+		Object readyMonitor = new Object();
+		serverObserver.setOnReadyHandler(() -> {
+			synchronized (readyMonitor) {
+				readyMonitor.notifyAll();
+			}
+		});
+		try {
+			messageHandler.handleActionsBatchRequestAsync(request, partial -> {
+				if (awaitReady(serverObserver, readyMonitor))
+					serverObserver.onNext(partial);
+			}).whenComplete((response, error) -> {
+				if (error != null) {
+					logger.error("Error while executing actions batch", error);
+					responseObserver.onError(new HandException("Error while executing actions batch", MessageHandler.unwrap(error)));
+					return;
+				}
+				responseObserver.onNext(response.toBuilder().clearResult().build());
+				responseObserver.onCompleted();
+			});
+		} catch (RejectedExecutionException e) {
+			logger.error("Actions batch for session '{}' is rejected", sessionId, e);
+			responseObserver.onError(new HandException("Hand is overloaded, actions batch is rejected", e));
+		}
+	}
+
+	public StreamObserver<RhActionsBatch> executeRhActionsBatches(StreamObserver<RhBatchResponse> responseObserver) {
+		return new SessionBatchesObserver(responseObserver);
+	}
+
+	@Override
+	public void dispose() {
+		// message handler is closed by HandBaseService
+	}
+
+	/**
+	 * Waits until the client is ready to receive a response
+	 * @return false if the call is cancelled
+	 */
+	private boolean awaitReady(ServerCallStreamObserver<RhBatchResponse> observer, Object readyMonitor) {
+		synchronized (readyMonitor) {
+			while (!observer.isReady()) {
+				if (observer.isCancelled())
+					return false;
+				try {
+					readyMonitor.wait(READY_CHECK_INTERVAL_MS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					logger.warn("Interrupted while waiting for the client to read responses");
+					return false;
+				}
+			}
+		}
+		return !observer.isCancelled();
+	}
+
+	private static RhBatchResponse createErrorResponse(String sessionId, String errorMessage) {
+		return RhBatchResponse.newBuilder()
+				.setScriptStatus(RhBatchResponse.ScriptExecutionStatus.HAND_INTERNAL_ERROR)
+				.setSessionId(sessionId)
+				.setErrorMessage(errorMessage)
+				.build();
+	}
+
+	/**
+	 * Submits incoming batches to the queue of the session at once, so the next batch starts as soon as 
+	 * the previous one is done. Inbound flow control limits the number of batches the client can send ahead 
+	 * to {@link #PREFETCHED_BATCHES}, the next batch is requested when a response is sent and the client is ready 
+	 * to receive more, so at most {@link #PREFETCHED_BATCHES} responses are buffered for a slow client. 
+	 * Responses are sent in order of batches even if some of them are rejected at once. 
+	 * gRPC calls request observer methods sequentially, responses are sent one after another by the chain of futures, 
+	 * so no synchronization is needed.
+	 */
+	private class SessionBatchesObserver implements StreamObserver<RhActionsBatch> {
+		private final ServerCallStreamObserver<RhBatchResponse> responseObserver;
+		/** Batches to request when the client is ready to receive responses */
+		private final AtomicInteger deferredRequests = new AtomicInteger();
+		private CompletableFuture<Void> lastResponse = CompletableFuture.completedFuture(null);
+		private String sessionId;
+		private volatile boolean cancelled = false;
+
+		private SessionBatchesObserver(StreamObserver<RhBatchResponse> responseObserver) {
+			this.responseObserver = (ServerCallStreamObserver<RhBatchResponse>) responseObserver;
+			this.responseObserver.disableAutoRequest();
+			this.responseObserver.setOnReadyHandler(this::requestDeferred);
+			this.responseObserver.request(PREFETCHED_BATCHES);
+		}
+
+		@Override
+		public void onNext(RhActionsBatch batch) {
+			logger.trace("Action: '{}', request: '{}'", "executeRhActionsBatches", TextFormat.shortDebugString(batch));
+			if (sessionId == null) {
+				sessionId = batch.getSessionId().getId();
+				logger.debug("Batches stream is bound to session '{}'", sessionId);
+			}
+			CompletableFuture<RhBatchResponse> response = executeBatch(batch);
+			lastResponse = lastResponse.thenCombine(response, (previous, current) -> current).thenAccept(current -> {
+				if (!cancelled) {
+					responseObserver.onNext(current);
+					deferredRequests.incrementAndGet();
+					requestDeferred();
+				}
+			});
+		}
+
+		/**
+		 * Requests deferred batches while the client reads responses. 
+		 * The counter is increased before readiness is checked, so a request is not lost 
+		 * if the client becomes ready in between: the ready handler requests it.
+		 */
+		private void requestDeferred() {
+			while (responseObserver.isReady() && !cancelled) {
+				if (deferredRequests.getAndUpdate(n -> n > 0 ? n - 1 : 0) == 0)
+					return;
+				responseObserver.request(1);
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			logger.warn("Batches stream for session '{}' has been cancelled", sessionId, t);
+			cancelled = true;
+		}
+
+		@Override
+		public void onCompleted() {
+			lastResponse.whenComplete((v, e) -> responseObserver.onCompleted());
+		}
+
+		private CompletableFuture<RhBatchResponse> executeBatch(RhActionsBatch batch) {
+			if (cancelled)
+				return CompletableFuture.completedFuture(null);
+
+			String batchSessionId = batch.getSessionId().getId();
+			if (!sessionId.equals(batchSessionId)) {
+				return CompletableFuture.completedFuture(createErrorResponse(batchSessionId, 
+						"Stream is bound to session '" + sessionId + "', batch for session '" + batchSessionId + "' is skipped"));
+			}
+
+			try {
+				return messageHandler.handleActionsBatchRequestAsync(batch).exceptionally(e -> {
+					logger.error("Error while executing actions batch", e);
+					Throwable cause = MessageHandler.unwrap(e);
+					return createErrorResponse(sessionId, cause instanceof RejectedExecutionException 
+							? "Actions batch is rejected: " + cause.getMessage() 
+							: "Error while executing actions batch: " + cause.getMessage());
+				});
+			} catch (RejectedExecutionException e) {
+				logger.error("Actions batch for session '{}' is rejected", sessionId, e);
+				return CompletableFuture.completedFuture(createErrorResponse(sessionId, "Hand is overloaded, actions batch is rejected"));
+			}
+		}
+	}
+}
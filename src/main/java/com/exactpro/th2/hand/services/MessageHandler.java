@@ -1,5 +1,5 @@
 /*
- *  Copyright 2020-2023 Exactpro (Exactpro Systems Limited)
+ *  Copyright 2020-2026 Exactpro (Exactpro Systems Limited)
  *
  *  Licensed under the Apache License, Version 2.0 (the "License");
  *  you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import com.exactpro.th2.hand.Config;
 import com.exactpro.th2.hand.RhConnectionManager;
 import com.exactpro.th2.hand.builders.events.DefaultEventBuilder;
 import com.exactpro.th2.hand.builders.mstore.DefaultMessageStoreBuilder;
+import com.exactpro.th2.hand.builders.mstore.SequenceGenerator;
 import com.exactpro.th2.hand.builders.script.ScriptBuilder;
 import com.exactpro.th2.hand.requestexecutors.ActionsBatchExecutor;
 import com.exactpro.th2.hand.services.estore.EventStoreHandler;
@@ -30,25 +31,90 @@ import com.exactpro.th2.hand.services.estore.EventStoreSender;
 import com.exactpro.th2.hand.services.mstore.MessageStoreHandler;
 import com.exactpro.th2.hand.services.mstore.MessageStoreSender;
 
-import java.util.concurrent.atomic.AtomicLong;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 
 public class MessageHandler implements AutoCloseable {
+	private static final Logger logger = LoggerFactory.getLogger(MessageHandler.class);
+	private static final long EXECUTOR_TERMINATION_TIMEOUT_SEC = 30;
+	private static final String BATCH_EXECUTOR_THREAD_PREFIX = "hand-batch-executor-";
+	private static final Histogram BATCH_DURATION = Histogram.build()
+			.name("th2_hand_batch_duration_seconds")
+			.help("Time from receiving of actions batch to its response, including waiting for execution thread")
+			.buckets(0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120)
+			.register();
+	private static final Counter BATCHES = Counter.build()
+			.name("th2_hand_batches_total")
+			.help("Actions batches by status of response, REJECTED and FAILED if there is no response")
+			.labelNames("status")
+			.register();
+	private static final Gauge QUEUE_SIZE = Gauge.build()
+			.name("th2_hand_queue_size")
+			.help("Number of batches waiting for execution thread, messages and events waiting to be sent")
+			.labelNames("queue")
+			.register();
+
 	private final Config config;
 	private final MessageStoreHandler messageStoreHandler;
 	private final EventStoreHandler eventStoreHandler;
 	private final RhConnectionManager rhConnectionManager;
-	private final ScriptBuilder scriptBuilder = new ScriptBuilder();
+	private final ScriptBuilder scriptBuilder;
+	private final ExecutorService batchExecutor;
+	private final Map<String, TargetBatchScheduler> batchSchedulers = new HashMap<>();
+
+	public MessageHandler(Config config, SequenceGenerator sequenceGenerator) {
+		this(config, sequenceGenerator, new RhConnectionManager(config), new MessageStoreSender(config.getFactory()),
+				new EventStoreSender(config.getFactory().getEventBatchRouter(), config.getEventBatching()));
+	}
 
-	public MessageHandler(Config config, AtomicLong seqNum) {
+	/**
+	 * Creates the handler with the given sessions manager and senders, e.g. fake and in-memory ones for load tests
+	 */
+	public MessageHandler(Config config, SequenceGenerator sequenceGenerator, RhConnectionManager rhConnectionManager,
+	                      MessageStoreSender messageStoreSender, EventStoreSender eventStoreSender) {
 		this.config = config;
-		rhConnectionManager = new RhConnectionManager(config);
+		this.scriptBuilder = new ScriptBuilder(config.getScriptTemplateCacheSize());
+		this.rhConnectionManager = rhConnectionManager;
 		CommonFactory factory = config.getFactory();
 		this.messageStoreHandler = new MessageStoreHandler(
 				config.getSessionGroup(),
-				new MessageStoreSender(factory),
-				new DefaultMessageStoreBuilder(config.getFactory(), seqNum)
+				messageStoreSender,
+				new DefaultMessageStoreBuilder(factory, sequenceGenerator),
+				config.getScreenshotStorage()
 		);
-		this.eventStoreHandler = new EventStoreHandler(new EventStoreSender(factory.getEventBatchRouter()), new DefaultEventBuilder(factory));
+		this.eventStoreHandler = new EventStoreHandler(eventStoreSender, new DefaultEventBuilder(factory));
+		this.batchExecutor = createBatchExecutor(config.getBatchExecutionThreads(), config.getBatchExecutionQueueSize(), 
+				config.isUseVirtualThreads(), config.getVirtualBatchExecutionLimit());
+		config.getDriversMapping().forEach((target, mapping) -> {
+			if (mapping.maxConcurrentBatches > 0) {
+				batchSchedulers.put(target, new TargetBatchScheduler(target, mapping.maxConcurrentBatches, 
+						mapping.maxWaitingBatches, config.getBatchPriorityAgingSec()));
+			}
+		});
+		registerQueueSize("batches", () -> getQueueSize(batchExecutor));
+		registerQueueSize("mstore", messageStoreSender::getQueueSize);
+		registerQueueSize("estore", eventStoreSender::getQueueSize);
 	}
 
 	public MessageStoreHandler getMessageStoreHandler() {
@@ -72,12 +138,139 @@ public class MessageHandler implements AutoCloseable {
 	}
 
 	public RhBatchResponse handleActionsBatchRequest(RhActionsBatch request) {
+		return handleActionsBatchRequest(request, null);
+	}
+
+	public RhBatchResponse handleActionsBatchRequest(RhActionsBatch request, Consumer<RhBatchResponse> partialResponseListener) {
 		ActionsBatchExecutor actionsBatchExecutor = new ActionsBatchExecutor(this);
-		return actionsBatchExecutor.execute(request).getHandResponse();
+		return actionsBatchExecutor.execute(request, partialResponseListener).getHandResponse();
+	}
+
+	/**
+	 * Executes the batch on the dedicated batch executor, so the calling thread is not blocked while the driver works.
+	 * @throws RejectedExecutionException if all executor threads are busy and its queue is full
+	 */
+	public CompletableFuture<RhBatchResponse> handleActionsBatchRequestAsync(RhActionsBatch request) {
+		return handleActionsBatchRequestAsync(request, null);
+	}
+
+	/**
+	 * Same as {@link #handleActionsBatchRequestAsync(RhActionsBatch)}, 
+	 * but responses with results of actions are passed to the listener as soon as each action is done, 
+	 * see {@link ActionsBatchExecutor#execute(RhActionsBatch, Consumer)}.
+	 * Batches of one session are executed one by one in order they are received.
+	 * @throws RejectedExecutionException if all executor threads are busy and its queue is full 
+	 * or the queue of the session is full
+	 */
+	public CompletableFuture<RhBatchResponse> handleActionsBatchRequestAsync(RhActionsBatch request,
+	                                                                       Consumer<RhBatchResponse> partialResponseListener) {
+		Histogram.Timer timer = BATCH_DURATION.startTimer();
+		Supplier<RhBatchResponse> batch = () -> handleActionsBatchRequest(request, partialResponseListener);
+		HandSessionHandler sessionHandler = rhConnectionManager.findSessionHandler(request.getSessionId().getId());
+		CompletableFuture<RhBatchResponse> response;
+		try {
+			// batch of unknown session is executed at once to report the error as usual
+			response = sessionHandler != null 
+					? sessionHandler.getBatchQueue().submit(batch, getExecutor(request, sessionHandler.getTargetServer())) 
+					: CompletableFuture.supplyAsync(batch, batchExecutor);
+		} catch (RuntimeException e) {
+			timer.observeDuration();
+			BATCHES.labels(getStatus(null, e)).inc();
+			throw e;
+		}
+		return response.whenComplete((result, error) -> {
+			timer.observeDuration();
+			BATCHES.labels(getStatus(result, error)).inc();
+		});
+	}
+
+	/**
+	 * @return status of the response or REJECTED if the batch was not accepted for execution, FAILED on other errors
+	 */
+	private static String getStatus(RhBatchResponse response, Throwable error) {
+		if (error == null)
+			return response.getScriptStatus().name();
+		return unwrap(error) instanceof RejectedExecutionException ? "REJECTED" : "FAILED";
+	}
+
+	/**
+	 * @return cause of the error by which a future of the batch has been completed
+	 */
+	static Throwable unwrap(Throwable error) {
+		return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+	}
+
+	/**
+	 * @return executor starting the batch when its target has a free slot, according to the batch priority
+	 */
+	private Executor getExecutor(RhActionsBatch request, String targetServer) {
+		TargetBatchScheduler scheduler = batchSchedulers.get(targetServer);
+		return scheduler != null ? scheduler.executor(getPriority(request, targetServer), batchExecutor) : batchExecutor;
+	}
+
+	/**
+	 * @return priority from additional event info of the batch or the default priority of the target
+	 */
+	private int getPriority(RhActionsBatch request, String targetServer) {
+		RhActionsBatch.AdditionalEventInfo info = request.getAdditionalEventInfo();
+		int index = info.getKeysList().indexOf(config.getBatchPriorityKey());
+		if (index >= 0 && index < info.getValuesCount()) {
+			String value = info.getValues(index);
+			try {
+				return Config.clampBatchPriority(Integer.parseInt(value.trim()));
+			} catch (NumberFormatException e) {
+				logger.warn("Priority '{}' of actions batch for session '{}' is not a number, default priority is used", 
+						value, request.getSessionId().getId());
+			}
+		}
+		return config.getDriversMapping().get(targetServer).priority;
+	}
+
+	private static void registerQueueSize(String queue, IntSupplier size) {
+		QUEUE_SIZE.setChild(new Gauge.Child() {
+			@Override
+			public double get() {
+				return size.getAsInt();
+			}
+		}, queue);
+	}
+
+	/**
+	 * @param virtualLimit maximum number of batches executed by virtual threads at the same time, 0 means no limit
+	 * @return executor starting a virtual thread per batch if it is enabled and supported, 
+	 * otherwise pool of platform threads
+	 */
+	static ExecutorService createBatchExecutor(int threads, int queueSize, boolean useVirtualThreads, int virtualLimit) {
+		if (useVirtualThreads) {
+			VirtualThreadBatchExecutor executor = VirtualThreadBatchExecutor.create(virtualLimit, queueSize, BATCH_EXECUTOR_THREAD_PREFIX);
+			if (executor != null) {
+				if (virtualLimit > 0)
+					logger.info("Batches are executed by virtual threads, {} at the same time with queue size {}", virtualLimit, queueSize);
+				else
+					logger.info("Batches are executed by virtual threads without limit");
+				return executor;
+			}
+		}
+		BlockingQueue<Runnable> queue = queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>();
+		ThreadFactory threadFactory = new BasicThreadFactory.Builder()
+				.namingPattern(BATCH_EXECUTOR_THREAD_PREFIX + "%d").daemon(true).build();
+		logger.info("Batches are executed by {} platform thread(s) with queue size {}", threads, queueSize);
+		return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, threadFactory);
+	}
+
+	private static int getQueueSize(ExecutorService executor) {
+		return executor instanceof VirtualThreadBatchExecutor 
+				? ((VirtualThreadBatchExecutor) executor).getQueueSize() 
+				: ((ThreadPoolExecutor) executor).getQueue().size();
 	}
 
 	@Override
 	public void close() throws Exception {
+		batchExecutor.shutdown();
+		if (!batchExecutor.awaitTermination(EXECUTOR_TERMINATION_TIMEOUT_SEC, TimeUnit.SECONDS)) {
+			logger.warn("Batch executor has not been terminated in {} seconds", EXECUTOR_TERMINATION_TIMEOUT_SEC);
+			batchExecutor.shutdownNow();
+		}
 		rhConnectionManager.dispose();
 		messageStoreHandler.close();
 		eventStoreHandler.close();
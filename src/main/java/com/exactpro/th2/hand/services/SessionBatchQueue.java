@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services;
+
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * FIFO queue of batches of one session. Batches are executed one by one on the shared executor, 
+ * so a batch never finds the session busy with another one. 
+ * The number of waiting batches is limited, batches waiting longer than the timeout are failed.
+ */
+public class SessionBatchQueue {
+	private static final Histogram QUEUE_WAIT = Histogram.build()
+			.name("th2_hand_session_queue_wait_seconds")
+			.help("Time of waiting of actions batch for previous batches of its session")
+			.buckets(0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120)
+			.register();
+	private static final Gauge QUEUED_BATCHES = Gauge.build()
+			.name("th2_hand_session_queued_batches")
+			.help("Number of actions batches waiting for previous batches of their sessions")
+			.register();
+
+	private final String sessionId;
+	private final int maxSize;
+	private final long timeoutMs;
+	private final Deque<PendingBatch<?>> pending = new ArrayDeque<>();
+	private boolean running = false;
+	private boolean closed = false;
+
+	/**
+	 * @param maxSize maximum number of batches waiting while another batch of the session is executed
+	 * @param timeoutSec maximum time of waiting in the queue, 0 means no limit
+	 */
+	public SessionBatchQueue(String sessionId, int maxSize, int timeoutSec) {
+		this.sessionId = sessionId;
+		this.maxSize = maxSize;
+		this.timeoutMs = TimeUnit.SECONDS.toMillis(timeoutSec);
+	}
+
+	/**
+	 * Executes the batch on the executor after all previously submitted batches of the session are done
+	 * @return future of the batch result, it fails with RejectedExecutionException 
+	 * if the batch is not started because of timeout or closing of the queue
+	 * @throws RejectedExecutionException if the queue is full or the executor rejects the batch submitted at once
+	 */
+	public <T> CompletableFuture<T> submit(Supplier<T> batch, Executor executor) {
+		PendingBatch<T> pendingBatch = new PendingBatch<>(batch, executor);
+		synchronized (this) {
+			if (closed)
+				throw new RejectedExecutionException("Session '" + sessionId + "' is closed");
+			if (running) {
+				if (pending.size() >= maxSize)
+					throw new RejectedExecutionException("Queue of session '" + sessionId + "' is full (" + maxSize + " batches)");
+				pending.addLast(pendingBatch);
+				QUEUED_BATCHES.inc();
+				if (timeoutMs > 0)
+					CompletableFuture.delayedExecutor(timeoutMs, TimeUnit.MILLISECONDS).execute(() -> expire(pendingBatch));
+				return pendingBatch.future;
+			}
+			running = true;
+		}
+
+		try {
+			start(pendingBatch);
+		} catch (RejectedExecutionException e) {
+			startNext();
+			throw e;
+		}
+		return pendingBatch.future;
+	}
+
+	/**
+	 * @return true if a batch of the session is executed or waits for the executor, or batches wait in the queue
+	 */
+	public synchronized boolean isBusy() {
+		return running;
+	}
+
+	public synchronized boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Closes the queue if no batch is executed or waits and the condition is true. 
+	 * The check is atomic with {@link #submit(Supplier, Executor)}, so a batch is either accepted before closing 
+	 * or rejected after it, but never executed by the closed session.
+	 * @return true if the queue has been closed by this call
+	 */
+	public synchronized boolean closeIfIdle(BooleanSupplier condition) {
+		if (closed || running || !condition.getAsBoolean())
+			return false;
+		closed = true;
+		return true;
+	}
+
+	/**
+	 * Rejects all waiting batches, the executed one is not interrupted
+	 */
+	public void close() {
+		List<PendingBatch<?>> rejected;
+		synchronized (this) {
+			closed = true;
+			rejected = new ArrayList<>(pending);
+			pending.clear();
+		}
+		QUEUED_BATCHES.dec(rejected.size());
+		for (PendingBatch<?> batch : rejected)
+			batch.future.completeExceptionally(new RejectedExecutionException("Session '" + sessionId + "' is closed"));
+	}
+
+	private void start(PendingBatch<?> batch) {
+		QUEUE_WAIT.observe((System.nanoTime() - batch.submitTime) / 1e9);
+		batch.executor.execute(() -> {
+			try {
+				batch.run();
+			} finally {
+				startNext();
+			}
+		});
+	}
+
+	/**
+	 * Starts the next batch, batches rejected by the executor are failed
+	 */
+	private void startNext() {
+		while (true) {
+			PendingBatch<?> next;
+			synchronized (this) {
+				next = pending.pollFirst();
+				if (next == null) {
+					running = false;
+					return;
+				}
+			}
+			QUEUED_BATCHES.dec();
+			try {
+				start(next);
+				return;
+			} catch (RejectedExecutionException e) {
+				next.future.completeExceptionally(e);
+			}
+		}
+	}
+
+	private void expire(PendingBatch<?> batch) {
+		synchronized (this) {
+			if (!pending.remove(batch))
+				return;
+		}
+		QUEUED_BATCHES.dec();
+		QUEUE_WAIT.observe((System.nanoTime() - batch.submitTime) / 1e9);
+		batch.future.completeExceptionally(new RejectedExecutionException("Actions batch has waited for previous batches of session '" 
+				+ sessionId + "' more than " + TimeUnit.MILLISECONDS.toSeconds(timeoutMs) + " seconds"));
+	}
+
+	private static class PendingBatch<T> {
+		private final CompletableFuture<T> future = new CompletableFuture<>();
+		private final Supplier<T> batch;
+		private final Executor executor;
+		private final long submitTime = System.nanoTime();
+
+		private PendingBatch(Supplier<T> batch, Executor executor) {
+			this.batch = batch;
+			this.executor = executor;
+		}
+
+		private void run() {
+			try {
+				future.complete(batch.get());
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services;
+
+import com.exactpro.th2.hand.Config;
+import io.prometheus.client.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of batches executed at the same time on one target of drivers mapping. 
+ * Waiting batches are started in order of priority, batches of the same priority are started in order they come.
+ * Priority of a waiting batch grows by 1 each aging interval, so batches of low priority are not starved. 
+ * Since all waiting batches age at the same rate, their order does not change while they wait 
+ * and is defined by priority * aging interval - arrival time.
+ * The number of waiting batches is limited, batches above the limit are rejected. 
+ * A waiting batch rejected by the executor when its slot is freed goes back to the waiting ones and is retried later.
+ */
+public class TargetBatchScheduler {
+	private static final Logger logger = LoggerFactory.getLogger(TargetBatchScheduler.class);
+
+	private static final long RETRY_DELAY_MS = 100;
+
+	/** Targets are keys of drivers mapping and priorities are limited, so number of series is bounded */
+	private static final Histogram PRIORITY_WAIT = Histogram.build()
+			.name("th2_hand_priority_wait_seconds")
+			.help("Time of waiting of actions batch for free execution slot of its target by priority")
+			.labelNames("target", "priority")
+			.buckets(0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120)
+			.register();
+
+	private final String target;
+	private final int maxConcurrentBatches;
+	private final int maxWaitingBatches;
+	private final long agingNanos;
+	private final long startTime = System.nanoTime();
+	private final PriorityQueue<ScheduledBatch> waiting = new PriorityQueue<>(
+			Comparator.comparingLong((ScheduledBatch batch) -> batch.rank).reversed().thenComparingLong(batch -> batch.order));
+	private int running = 0;
+	private long order = 0;
+	private boolean retryScheduled = false;
+
+	/**
+	 * @param maxWaitingBatches maximum number of batches waiting for a free slot
+	 * @param agingSec priority of a waiting batch grows by 1 each such interval, 0 disables aging
+	 */
+	public TargetBatchScheduler(String target, int maxConcurrentBatches, int maxWaitingBatches, int agingSec) {
+		this.target = target;
+		this.maxConcurrentBatches = maxConcurrentBatches;
+		this.maxWaitingBatches = maxWaitingBatches;
+		this.agingNanos = TimeUnit.SECONDS.toNanos(agingSec);
+	}
+
+	/**
+	 * @return executor which starts tasks on the delegate when the target has a free slot
+	 */
+	public Executor executor(int priority, Executor delegate) {
+		int clampedPriority = Config.clampBatchPriority(priority);
+		return command -> schedule(command, clampedPriority, delegate);
+	}
+
+	/**
+	 * @throws RejectedExecutionException if the target has no free slot and too many batches are waiting, 
+	 * or if the target has a free slot and the delegate rejects the task
+	 */
+	private void schedule(Runnable command, int priority, Executor delegate) {
+		ScheduledBatch batch;
+		synchronized (this) {
+			long submitTime = System.nanoTime();
+			long rank = agingNanos > 0 ? priority * agingNanos - (submitTime - startTime) : priority;
+			batch = new ScheduledBatch(command, priority, delegate, submitTime, rank, order++);
+			// while batches rejected by the executor wait for retry, new ones wait with them in order of priority
+			if (running >= maxConcurrentBatches || !waiting.isEmpty()) {
+				if (waiting.size() >= maxWaitingBatches)
+					throw new RejectedExecutionException("Too many actions batches are waiting for target '" + target 
+							+ "' (" + maxWaitingBatches + " batches)");
+				waiting.add(batch);
+				return;
+			}
+			running++;
+		}
+
+		try {
+			dispatch(batch);
+		} catch (RejectedExecutionException e) {
+			release();
+			throw e;
+		}
+	}
+
+	private void dispatch(ScheduledBatch batch) {
+		PRIORITY_WAIT.labels(target, String.valueOf(batch.priority)).observe((System.nanoTime() - batch.submitTime) / 1e9);
+		batch.delegate.execute(() -> {
+			try {
+				batch.command.run();
+			} finally {
+				release();
+			}
+		});
+	}
+
+	/**
+	 * Passes the slot to the next waiting batch or frees it
+	 */
+	private void release() {
+		ScheduledBatch next;
+		synchronized (this) {
+			next = waiting.poll();
+			if (next == null) {
+				running--;
+				return;
+			}
+		}
+		dispatchWaiting(next);
+	}
+
+	/**
+	 * Dispatches the waiting batch which has got a slot. 
+	 * The batch has been already accepted, so if the executor rejects it, the batch goes back to the waiting ones 
+	 * with its place in the order, the slot is freed and dispatch is retried after a delay.
+	 * @return true if the batch is dispatched
+	 */
+	private boolean dispatchWaiting(ScheduledBatch batch) {
+		try {
+			dispatch(batch);
+			return true;
+		} catch (RejectedExecutionException e) {
+			if (batch.delegate instanceof ExecutorService && ((ExecutorService) batch.delegate).isShutdown()) {
+				logger.error("Executor is shut down, actions batch for target '{}' is dropped", target, e);
+				release();
+				return false;
+			}
+			logger.warn("Actions batch for target '{}' is rejected by executor, it will be retried in {} ms", 
+					target, RETRY_DELAY_MS, e);
+			synchronized (this) {
+				waiting.add(batch);
+				running--;
+				if (retryScheduled)
+					return false;
+				retryScheduled = true;
+			}
+			CompletableFuture.delayedExecutor(RETRY_DELAY_MS, TimeUnit.MILLISECONDS).execute(this::retryWaiting);
+			return false;
+		}
+	}
+
+	/**
+	 * Dispatches waiting batches while the target has free slots
+	 */
+	private void retryWaiting() {
+		synchronized (this) {
+			retryScheduled = false;
+		}
+		while (true) {
+			ScheduledBatch next;
+			synchronized (this) {
+				if (running >= maxConcurrentBatches)
+					return;
+				next = waiting.poll();
+				if (next == null)
+					return;
+				running++;
+			}
+			if (!dispatchWaiting(next))
+				return;
+		}
+	}
+
+	private static class ScheduledBatch {
+		private final Runnable command;
+		private final int priority;
+		private final Executor delegate;
+		private final long submitTime;
+		private final long rank;
+		private final long order;
+
+		private ScheduledBatch(Runnable command, int priority, Executor delegate, long submitTime, long rank, long order) {
+			this.command = command;
+			this.priority = priority;
+			this.delegate = delegate;
+			this.submitTime = submitTime;
+			this.rank = rank;
+			this.order = order;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts a new virtual thread for each batch, so a batch waiting for its driver holds no platform thread.
+ * If {@code threads} is positive, up to {@code threads} batches are executed at the same time, 
+ * up to {@code queueSize} more batches wait for a free slot in their virtual threads, other batches are rejected. 
+ * Otherwise batches are not limited here, batches of a session are executed one by one anyway, 
+ * so their number is bounded by the number of sessions. 
+ * Virtual threads are available since Java 21 only while the project is built for Java 11,
+ * so they are created via reflection.
+ */
+class VirtualThreadBatchExecutor extends AbstractExecutorService {
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreadBatchExecutor.class);
+
+	private final ExecutorService threadPerTaskExecutor;
+	/** Both are null if batches are not limited */
+	private final Semaphore accepted;
+	private final Semaphore executed;
+
+	private VirtualThreadBatchExecutor(ExecutorService threadPerTaskExecutor, int threads, int queueSize) {
+		this.threadPerTaskExecutor = threadPerTaskExecutor;
+		this.accepted = threads > 0 ? new Semaphore(threads + queueSize) : null;
+		this.executed = threads > 0 ? new Semaphore(threads, true) : null;
+	}
+
+	/**
+	 * @param threads maximum number of batches executed at the same time, 0 means no limit
+	 * @return executor of virtual threads or null if the runtime does not support them
+	 */
+	static VirtualThreadBatchExecutor create(int threads, int queueSize, String threadPrefix) {
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadPrefix, 0L);
+			ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+			ExecutorService executor = (ExecutorService) Executors.class
+					.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+			return new VirtualThreadBatchExecutor(executor, threads, queueSize);
+		} catch (ReflectiveOperationException | UnsupportedOperationException e) {
+			logger.warn("Virtual threads are not supported by Java {}, platform threads will be used", 
+					System.getProperty("java.version"), e);
+			return null;
+		}
+	}
+
+	/**
+	 * @return number of batches waiting for a free slot
+	 */
+	int getQueueSize() {
+		return executed != null ? executed.getQueueLength() : 0;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		if (executed == null) {
+			threadPerTaskExecutor.execute(command);
+			return;
+		}
+		if (!accepted.tryAcquire()) {
+			throw new RejectedExecutionException("Too many batches are executed or waiting for execution");
+		}
+		try {
+			threadPerTaskExecutor.execute(() -> {
+				try {
+					executed.acquire();
+					try {
+						command.run();
+					} finally {
+						executed.release();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					logger.warn("Interrupted while waiting for a free slot, batch is not executed");
+				} finally {
+					accepted.release();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			accepted.release();
+			throw e;
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		threadPerTaskExecutor.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		return threadPerTaskExecutor.shutdownNow();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return threadPerTaskExecutor.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return threadPerTaskExecutor.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return threadPerTaskExecutor.awaitTermination(timeout, unit);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2023 Exactpro (Exactpro Systems Limited)
+ * Copyright 2020-2026 Exactpro (Exactpro Systems Limited)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,32 +18,154 @@ package com.exactpro.th2.hand.services.estore;
 
 import com.exactpro.th2.common.grpc.Event;
 import com.exactpro.th2.common.grpc.EventBatch;
+import com.exactpro.th2.common.grpc.EventID;
 import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.hand.schema.EventBatchingConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * Collects events to batches limited by number of events, size and linger time 
+ * and sends them to estore from a separate thread.
+ */
 public class EventStoreSender implements AutoCloseable {
 	private static final Logger LOGGER = LoggerFactory.getLogger(EventStoreSender.class);
+	private static final long POLL_TIMEOUT_MS = 100;
+	private static final long CLOSE_TIMEOUT_MS = 30_000;
 
 	private final MessageRouter<EventBatch> eventBatchRouter;
+	private final EventBatchingConfiguration configuration;
+	private final BlockingQueue<Event> queue;
+	private final Thread publisher;
+	/**
+	 * Events are enqueued under the read lock and the sender is closed under the write one, 
+	 * so no event is enqueued after the publisher has seen the sender closed and drained the queue
+	 */
+	private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+	private volatile boolean closed = false;
 
-	public EventStoreSender(MessageRouter<EventBatch> eventBatchRouter) {
+	public EventStoreSender(MessageRouter<EventBatch> eventBatchRouter, EventBatchingConfiguration configuration) {
 		this.eventBatchRouter = eventBatchRouter;
+		this.configuration = configuration;
+		this.queue = new ArrayBlockingQueue<>(configuration.getQueueSize());
+		this.publisher = new Thread(this::publishEvents, "hand-event-publisher");
+		this.publisher.setDaemon(true);
+		this.publisher.start();
+	}
+
+	/**
+	 * @return number of events waiting to be sent
+	 */
+	public int getQueueSize() {
+		return queue.size();
 	}
 
-	public void storeEvent(Event event) {
+	/**
+	 * @return true if the event is queued to be sent
+	 */
+	public boolean storeEvent(Event event) {
+		closeLock.readLock().lock();
 		try {
-			eventBatchRouter.send(EventBatch.newBuilder().addEvents(event).build());
-			LOGGER.info("Event ID = " + event.getId());
-		} catch (IOException e) {
-			LOGGER.error("Could not store event with id: " + event.getId(), e);
+			if (closed) {
+				LOGGER.error("Could not store event with id: {}, sender is closed", event.getId());
+				return false;
+			}
+
+			if (configuration.getBackpressure() == EventBatchingConfiguration.Backpressure.DROP) {
+				if (queue.offer(event))
+					return true;
+				LOGGER.error("Could not store event with id: {}, queue is full", event.getId());
+				return false;
+			}
+
+			// the publisher does not take the lock, so it frees the queue while close() waits for the write lock
+			queue.put(event);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOGGER.error("Could not store event with id: " + event.getId() + ", interrupted while waiting for queue", e);
+			return false;
+		} finally {
+			closeLock.readLock().unlock();
+		}
+	}
+
+	private void publishEvents() {
+		Event carried = null;
+		while (!closed || carried != null || !queue.isEmpty()) {
+			Event first = carried != null ? carried : poll(TimeUnit.MILLISECONDS.toNanos(POLL_TIMEOUT_MS));
+			carried = null;
+			if (first == null)
+				continue;
+
+			EventBatch.Builder batch = EventBatch.newBuilder().addEvents(first);
+			long batchSize = first.getSerializedSize();
+			long lingerDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(configuration.getLingerMs());
+			while (batch.getEventsCount() < configuration.getMaxEvents()) {
+				Event next = poll(closed ? 0 : lingerDeadline - System.nanoTime());
+				if (next == null)
+					break;
+
+				int size = next.getSerializedSize();
+				if (batchSize + size > configuration.getMaxBytes() || !isSameBatch(first.getId(), next.getId())) {
+					carried = next;
+					break;
+				}
+				batch.addEvents(next);
+				batchSize += size;
+			}
+			send(batch.build(), batchSize);
+		}
+	}
+
+	private Event poll(long timeoutNanos) {
+		try {
+			return timeoutNanos > 0 ? queue.poll(timeoutNanos, TimeUnit.NANOSECONDS) : queue.poll();
+		} catch (InterruptedException e) {
+			LOGGER.warn("Events publisher has been interrupted");
+			closed = true;
+			return queue.poll();
+		}
+	}
+
+	/**
+	 * Events of one batch should belong to the same book and scope
+	 */
+	private static boolean isSameBatch(EventID first, EventID next) {
+		return Objects.equals(first.getBookName(), next.getBookName()) && Objects.equals(first.getScope(), next.getScope());
+	}
+
+	private void send(EventBatch batch, long batchSize) {
+		try {
+			eventBatchRouter.send(batch);
+			LOGGER.debug("Batch with {} event(s) ({} bytes) is sent, first event ID = {}", 
+					batch.getEventsCount(), batchSize, batch.getEvents(0).getId());
+		} catch (Exception e) {
+			LOGGER.error("Could not store batch with {} event(s), first event id: {}", 
+					batch.getEventsCount(), batch.getEvents(0).getId(), e);
 		}
 	}
 
 	@Override
 	public void close() throws Exception {
+		closeLock.writeLock().lock();
+		try {
+			closed = true;
+		} finally {
+			closeLock.writeLock().unlock();
+		}
+		publisher.join(CLOSE_TIMEOUT_MS);
+		if (publisher.isAlive()) {
+			LOGGER.warn("Events publisher has not finished in {} ms, {} event(s) are not sent", CLOSE_TIMEOUT_MS, queue.size());
+			publisher.interrupt();
+		}
 		eventBatchRouter.close();
 	}
-}
\ No newline at end of file
+}
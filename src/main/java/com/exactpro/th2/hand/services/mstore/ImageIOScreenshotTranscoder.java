@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.exactpro.th2.common.grpc.RawMessage;
+import com.exactpro.th2.hand.schema.ScreenshotTranscodingConfiguration;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import io.prometheus.client.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Iterator;
+
+/**
+ * Re-encodes screenshots by ImageIO to the configured format and quality, optionally downscaling and converting to greyscale.
+ * Screenshots of formats not readable by ImageIO are stored as is.
+ */
+public class ImageIOScreenshotTranscoder implements ScreenshotTranscoder {
+	private static final Logger logger = LoggerFactory.getLogger(ImageIOScreenshotTranscoder.class);
+	private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+	private static final Histogram COMPRESSION_RATIO = Histogram.build()
+			.name("th2_hand_screenshot_compression_ratio")
+			.help("Ratio of original screenshot size to transcoded one")
+			.buckets(1, 2, 4, 8, 16, 32)
+			.register();
+	private static final Histogram TRANSCODING_CPU_TIME = Histogram.build()
+			.name("th2_hand_screenshot_transcoding_cpu_seconds")
+			.help("CPU time spent to transcode a screenshot")
+			.buckets(0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1)
+			.register();
+
+	private final ScreenshotTranscodingConfiguration configuration;
+	private final String protocol;
+
+	public ImageIOScreenshotTranscoder(ScreenshotTranscodingConfiguration configuration) {
+		this.configuration = configuration;
+		this.protocol = "image/" + configuration.getFormat();
+	}
+
+	@Override
+	public RawMessage transcode(RawMessage screenshot) {
+		boolean cpuTimeSupported = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+		long startCpuTime = cpuTimeSupported ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+		try {
+			BufferedImage image = ImageIO.read(screenshot.getBody().newInput());
+			if (image == null) {
+				logger.debug("Screenshot {} of format '{}' cannot be read, stored as is", 
+						screenshot.getMetadata().getId().getSequence(), screenshot.getMetadata().getProtocol());
+				return screenshot;
+			}
+
+			ByteString body = encode(convert(image));
+			if (cpuTimeSupported)
+				TRANSCODING_CPU_TIME.observe((THREAD_MX_BEAN.getCurrentThreadCpuTime() - startCpuTime) / 1e9);
+			COMPRESSION_RATIO.observe((double) screenshot.getBody().size() / Math.max(body.size(), 1));
+			return RawMessage.newBuilder()
+					.setMetadata(screenshot.getMetadata().toBuilder().setProtocol(protocol))
+					.setBody(body)
+					.build();
+		} catch (IOException | RuntimeException e) {
+			logger.error("Cannot transcode screenshot {}, stored as is", screenshot.getMetadata().getId().getSequence(), e);
+			return screenshot;
+		}
+	}
+
+	private BufferedImage convert(BufferedImage image) {
+		double scale = 1;
+		if (configuration.getMaxWidth() > 0 && image.getWidth() > configuration.getMaxWidth())
+			scale = (double) configuration.getMaxWidth() / image.getWidth();
+		if (configuration.getMaxHeight() > 0 && image.getHeight() * scale > configuration.getMaxHeight())
+			scale = (double) configuration.getMaxHeight() / image.getHeight();
+
+		int type = configuration.isGreyscale() ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB;
+		if (scale == 1 && image.getType() == type)
+			return image;
+
+		int width = Math.max((int) Math.round(image.getWidth() * scale), 1);
+		int height = Math.max((int) Math.round(image.getHeight() * scale), 1);
+		BufferedImage result = new BufferedImage(width, height, type);
+		Graphics2D graphics = result.createGraphics();
+		try {
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.drawImage(image, 0, 0, width, height, null);
+		} finally {
+			graphics.dispose();
+		}
+		return result;
+	}
+
+	private ByteString encode(BufferedImage image) throws IOException {
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(configuration.getFormat());
+		ImageWriter writer = writers.next();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+			writer.setOutput(imageOutput);
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			if (param.canWriteCompressed()) {
+				param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				if (param.getCompressionType() == null)
+					param.setCompressionType(param.getCompressionTypes()[0]);
+				param.setCompressionQuality(configuration.getQuality());
+			}
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return UnsafeByteOperations.unsafeWrap(output.toByteArray());
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.exactpro.th2.common.grpc.RawMessage;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
+import com.google.protobuf.ByteString;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Splits payloads bigger than the batch limit into ordered fragments and reassembles them back.
+ * Every fragment has its own message ID, fragments are linked by properties: 
+ * sequence of the first fragment, index of the fragment and number of fragments.
+ */
+public final class MessageFragments {
+	public static final String FIRST_FRAGMENT_SEQUENCE_PROPERTY = "firstFragmentSequence";
+	public static final String FRAGMENT_INDEX_PROPERTY = "fragmentIndex";
+	public static final String FRAGMENT_COUNT_PROPERTY = "fragmentCount";
+	/** Space in batch reserved for metadata of a fragment */
+	private static final int FRAGMENT_OVERHEAD = 4096;
+
+	private MessageFragments() {
+	}
+
+	/**
+	 * @return maximum size of fragment body, so the fragment with its metadata fits into a batch
+	 */
+	public static int getFragmentSize(long batchLimit) {
+		return (int) Math.min(batchLimit - FRAGMENT_OVERHEAD, Integer.MAX_VALUE);
+	}
+
+	public static int countFragments(long size, int fragmentSize) {
+		return (int) Math.max((size + fragmentSize - 1) / fragmentSize, 1);
+	}
+
+	public static RawMessage buildFragment(RawMessageMetadata metadata, ByteString body, int index, int count, long firstSequence) {
+		return RawMessage.newBuilder()
+				.setMetadata(metadata.toBuilder()
+						.putProperties(FIRST_FRAGMENT_SEQUENCE_PROPERTY, String.valueOf(firstSequence))
+						.putProperties(FRAGMENT_INDEX_PROPERTY, String.valueOf(index))
+						.putProperties(FRAGMENT_COUNT_PROPERTY, String.valueOf(count)))
+				.setBody(body)
+				.build();
+	}
+
+	/**
+	 * Splits the message to fragments using reserved metadata, protocol and properties of the message are kept in every fragment.
+	 * Fragments share content of the message, so no data is copied.
+	 * @return the message with the first reserved ID if it fits into one fragment, 
+	 * or null if more fragments are needed than metadata reserved
+	 */
+	public static List<RawMessage> split(RawMessage message, List<RawMessageMetadata> reserved, int fragmentSize) {
+		ByteString body = message.getBody();
+		int count = countFragments(body.size(), fragmentSize);
+		if (count > reserved.size())
+			return null;
+
+		RawMessageMetadata messageMetadata = message.getMetadata();
+		List<RawMessage> fragments = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			RawMessageMetadata metadata = reserved.get(i).toBuilder()
+					.setProtocol(messageMetadata.getProtocol())
+					.putAllProperties(messageMetadata.getPropertiesMap())
+					.build();
+			if (count == 1) {
+				fragments.add(message.toBuilder().setMetadata(metadata).build());
+			} else {
+				ByteString fragmentBody = body.substring(i * fragmentSize, Math.min((i + 1) * fragmentSize, body.size()));
+				fragments.add(buildFragment(metadata, fragmentBody, i, count, reserved.get(0).getId().getSequence()));
+			}
+		}
+		return fragments;
+	}
+
+	/**
+	 * Restores payload of fragmented message, fragments can be passed in any order
+	 * @throws IllegalArgumentException if fragments belong to different messages or some fragments are missing
+	 */
+	public static ByteString reassemble(Collection<RawMessage> fragments) {
+		if (fragments.isEmpty())
+			throw new IllegalArgumentException("No fragments to reassemble");
+		if (fragments.size() == 1 && !isFragment(fragments.iterator().next()))
+			return fragments.iterator().next().getBody();
+
+		List<RawMessage> ordered = fragments.stream()
+				.sorted(Comparator.comparingInt(fragment -> getIntProperty(fragment, FRAGMENT_INDEX_PROPERTY)))
+				.collect(Collectors.toList());
+		String firstSequence = ordered.get(0).getMetadata().getPropertiesOrThrow(FIRST_FRAGMENT_SEQUENCE_PROPERTY);
+		ByteString body = ByteString.EMPTY;
+		for (int i = 0; i < ordered.size(); i++) {
+			RawMessage fragment = ordered.get(i);
+			if (!firstSequence.equals(fragment.getMetadata().getPropertiesOrThrow(FIRST_FRAGMENT_SEQUENCE_PROPERTY)))
+				throw new IllegalArgumentException("Fragments belong to different messages");
+			if (getIntProperty(fragment, FRAGMENT_INDEX_PROPERTY) != i || getIntProperty(fragment, FRAGMENT_COUNT_PROPERTY) != ordered.size())
+				throw new IllegalArgumentException("Fragment " + i + " of message " + firstSequence + " is missing");
+			body = body.concat(fragment.getBody());
+		}
+		return body;
+	}
+
+	public static boolean isFragment(RawMessage message) {
+		return message.getMetadata().containsProperties(FIRST_FRAGMENT_SEQUENCE_PROPERTY);
+	}
+
+	private static int getIntProperty(RawMessage fragment, String name) {
+		return Integer.parseInt(fragment.getMetadata().getPropertiesOrThrow(name));
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2023 Exactpro (Exactpro Systems Limited)
+ * Copyright 2020-2026 Exactpro (Exactpro Systems Limited)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,30 +17,25 @@
 package com.exactpro.th2.hand.services.mstore;
 
 import com.exactpro.remotehand.ActionResult;
-import com.exactpro.remotehand.Configuration;
 import com.exactpro.remotehand.rhdata.RhScriptResult;
 import com.exactpro.th2.act.grpc.hand.RhActionList;
 import com.exactpro.th2.act.grpc.hand.RhActionsBatch;
 import com.exactpro.th2.common.grpc.Direction;
 import com.exactpro.th2.common.grpc.MessageID;
 import com.exactpro.th2.common.grpc.RawMessage;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
 import com.exactpro.th2.hand.builders.mstore.DefaultMessageStoreBuilder;
 import com.exactpro.th2.hand.messages.RhResponseMessageBody;
-import com.google.protobuf.Descriptors;
+import com.exactpro.th2.hand.schema.ScreenshotStorageConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.protobuf.GeneratedMessageV3;
-import com.google.protobuf.Int32Value;
-import com.google.protobuf.StringValue;
+import com.google.protobuf.UnsafeByteOperations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 
 public class MessageStoreHandler implements AutoCloseable {
 	private static final Logger logger = LoggerFactory.getLogger(MessageStoreSender.class);
@@ -48,11 +43,19 @@ public class MessageStoreHandler implements AutoCloseable {
 	private final String sessionGroup;
 	private final MessageStoreSender messageStoreSender;
 	private final DefaultMessageStoreBuilder messageStoreBuilder;
+	private final RequestJsonWriter requestJsonWriter = new RequestJsonWriter();
+	private final ScreenshotStorage screenshotStorage;
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final int fragmentSize;
 
-	public MessageStoreHandler(String sessionGroup, MessageStoreSender messageStoreSender, DefaultMessageStoreBuilder defaultMessageStoreBuilder) {
+	public MessageStoreHandler(String sessionGroup, MessageStoreSender messageStoreSender, DefaultMessageStoreBuilder defaultMessageStoreBuilder,
+	                           ScreenshotStorageConfiguration screenshotStorageConfiguration) {
 		this.sessionGroup = sessionGroup;
 		this.messageStoreSender = messageStoreSender;
 		this.messageStoreBuilder = defaultMessageStoreBuilder;
+		this.screenshotStorage = new ScreenshotStorage(sessionGroup, messageStoreSender, defaultMessageStoreBuilder, screenshotStorageConfiguration);
+		this.fragmentSize = screenshotStorageConfiguration.isFragmentOversized() 
+				? MessageFragments.getFragmentSize(messageStoreSender.getBatchLimit()) : 0;
 	}
 	
 	private List<? extends GeneratedMessageV3> getActionsList (RhActionsBatch actionsList) {
@@ -69,75 +72,36 @@ public class MessageStoreHandler implements AutoCloseable {
 	}
 
 	public List<MessageID> onRequest(RhActionsBatch actionsList, String sessionId) {
-		List<Map<String, Object>> allMessages = new ArrayList<>();
-		for (GeneratedMessageV3 rhAction : getActionsList(actionsList)) {
-			for (Map.Entry<Descriptors.FieldDescriptor, Object> entry : rhAction.getAllFields().entrySet()) {
-				if (entry != null) {
-					Map<String, Object> fields = new LinkedHashMap<>();
-					fields.put("ActionName", entry.getKey().getName());
-					Object value = entry.getValue();
-					if (value instanceof GeneratedMessageV3) {
-						for (Map.Entry<Descriptors.FieldDescriptor, Object> entry2 :
-								((GeneratedMessageV3)value).getAllFields().entrySet()) {
-							Object valueObj = entry2.getValue();
-							if (valueObj instanceof List) {
-								fields.put(entry2.getKey().getName(), this.processList((List<?>) valueObj));
-							} else {
-								fields.put(entry2.getKey().getName(), valueToString(valueObj));
-							}
-
-						}
-					}
-					allMessages.add(fields);
-				}
-			}
+		List<RawMessage> messages = null;
+		try {
+			byte[] body = requestJsonWriter.write(getActionsList(actionsList));
+			messages = buildMessages(body, Direction.SECOND, sessionId);
+		} catch (IOException e) {
+			logger.error("Could not encode message as JSON", e);
 		}
 
-		RawMessage message = messageStoreBuilder.buildMessage(Collections.singletonMap("messages", allMessages),
-				Direction.SECOND, sessionId, sessionGroup);
-
-		if (message != null) {
-			messageStoreSender.sendMessages(message);
-			return Collections.singletonList(message.getMetadata().getId());
+		if (messages != null) {
+			messageStoreSender.sendMessages(messages);
+			return Collections.singletonList(messages.get(0).getMetadata().getId());
 		} else {
 			logger.debug("Nothing to store to mstore");
 			return Collections.emptyList();
 		}
 	}
 
+	/**
+	 * Screenshots are stored in background, IDs of their messages are returned at once
+	 */
 	public List<MessageID> storeScreenshots(List<ActionResult> screenshotIds, String sessionAlias) {
-		if (screenshotIds == null || screenshotIds.isEmpty()) {
-			logger.debug("No screenshots to store");
-			return Collections.emptyList();
-		}
-
-		List<MessageID> messageIDS = new ArrayList<>();
-		List<RawMessage> rawMessages = new ArrayList<>();
-		for (ActionResult screenshotId : screenshotIds) {
-			logger.debug("Storing screenshot id {}", screenshotId);
-			Path screenPath = Configuration.SCREENSHOTS_DIR_PATH.resolve(screenshotId.getData());
-			if (!Files.exists(screenPath)) {
-				logger.warn("Screenshot with id {} does not exists", screenshotId);
-				continue;
-			}
-			RawMessage rawMessage = messageStoreBuilder.buildMessageFromFile(screenPath, Direction.FIRST, sessionAlias, sessionGroup);
-			if (rawMessage != null) {
-				messageIDS.add(rawMessage.getMetadata().getId());
-				rawMessages.add(rawMessage);
-			}
-			removeScreenshot(screenPath);
-		}
-		messageStoreSender.sendMessages(rawMessages);
-
-		return messageIDS;
+		return screenshotStorage.store(screenshotIds, sessionAlias);
 	}
 
 	public MessageID onResponse(RhScriptResult response, String sessionId, String rhSessionId) {
 		RhResponseMessageBody body = RhResponseMessageBody.fromRhScriptResult(response).setRhSessionId(rhSessionId);
 		try {
-			RawMessage message = messageStoreBuilder.buildMessage(body.getFields(), Direction.FIRST, sessionId, sessionGroup);
-			messageStoreSender.sendMessages(message);
-			return message.getMetadata().getId();
+			List<RawMessage> messages = buildMessages(mapper.writeValueAsBytes(body.getFields()), Direction.FIRST, sessionId);
+			messageStoreSender.sendMessages(messages);
+			return messages.get(0).getMetadata().getId();
 		} catch (Exception e) {
 			logger.error("Cannot send message to message-storage", e);
 		}
@@ -145,42 +109,23 @@ public class MessageStoreHandler implements AutoCloseable {
 		return null;
 	}
 
-	private void removeScreenshot(Path file) {
-		try {
-			Files.delete(file);
-		} catch (IOException e) {
-			logger.warn("Error deleting file: " + file.toAbsolutePath(), e);
-		}
-	}
-
-	private String valueToString(Object object) {
-		if (object instanceof Int32Value) {
-			return String.valueOf(((Int32Value) object).getValue());
-		} else if (object instanceof StringValue) {
-			return ((StringValue) object).getValue();
-		} else {
-			return String.valueOf(object);
-		}
-	}
-
-	private List<Map<String, Object>> processList(List<?> list) {
-		List<Map<String, Object>> processed = new ArrayList<>(list.size());
-		for (Object o : list) {
-			if (o instanceof GeneratedMessageV3) {
-				Map<String, Object> map = new LinkedHashMap<>();
-				for (Map.Entry<Descriptors.FieldDescriptor, Object> entry : ((GeneratedMessageV3) o).getAllFields().entrySet()) {
-					map.put(entry.getKey().getName(), valueToString(entry.getValue()));
-				}
-				processed.add(map);
-			} else {
-				processed.add(Collections.singletonMap("Value", valueToString(o)));
-			}
-		}
-		return processed;
+	/**
+	 * @return the message or its fragments if it is bigger than the batch limit and fragmentation is enabled, 
+	 * see {@link ScreenshotStorageConfiguration#isFragmentOversized()}
+	 */
+	private List<RawMessage> buildMessages(byte[] body, Direction direction, String sessionId) {
+		int count = fragmentSize > 0 ? MessageFragments.countFragments(body.length, fragmentSize) : 1;
+		if (count == 1)
+			return Collections.singletonList(messageStoreBuilder.buildMessage(body, direction, sessionId, sessionGroup));
+
+		List<RawMessageMetadata> metadata = messageStoreBuilder.buildMetadata(direction, sessionId, sessionGroup, null, count);
+		RawMessage message = RawMessage.newBuilder().setMetadata(metadata.get(0)).setBody(UnsafeByteOperations.unsafeWrap(body)).build();
+		return MessageFragments.split(message, metadata, fragmentSize);
 	}
 
 	@Override
 	public void close() throws Exception {
+		this.screenshotStorage.close();
 		this.messageStoreSender.close();
 	}
 }
\ No newline at end of file
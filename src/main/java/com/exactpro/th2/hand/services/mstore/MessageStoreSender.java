@@ -1,5 +1,5 @@
 /*
- *  Copyright 2020-2021 Exactpro (Exactpro Systems Limited)
+ *  Copyright 2020-2026 Exactpro (Exactpro Systems Limited)
  *
  *  Licensed under the Apache License, Version 2.0 (the "License");
  *  you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package com.exactpro.th2.hand.services.mstore;
 import com.exactpro.th2.common.grpc.AnyMessage;
 import com.exactpro.th2.common.grpc.MessageGroup;
 import com.exactpro.th2.common.grpc.MessageGroupBatch;
+import com.exactpro.th2.common.grpc.MessageID;
 import com.exactpro.th2.common.grpc.RawMessage;
 import com.exactpro.th2.common.schema.factory.CommonFactory;
 import com.exactpro.th2.common.schema.message.MessageRouter;
@@ -28,90 +29,242 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Coalesces raw messages from all sessions into batches limited by message-batch-limit and linger time. 
+ * Batches are sent to mstore from a separate thread, messages of a batch are ordered by session alias, direction and sequence, 
+ * so sequences of each alias and direction grow within the batch whatever order concurrent producers enqueued them in.
+ */
 public class MessageStoreSender implements AutoCloseable {
 	private static final Logger logger = LoggerFactory.getLogger(MessageStoreSender.class);
+	private static final long POLL_TIMEOUT_MS = 100;
+	private static final long CLOSE_TIMEOUT_MS = 30_000;
+	private static final Comparator<RawMessage> MESSAGE_ORDER = Comparator
+			.<RawMessage, String>comparing(message -> message.getMetadata().getId().getConnectionId().getSessionAlias())
+			.thenComparing(message -> message.getMetadata().getId().getDirection())
+			.thenComparingLong(message -> message.getMetadata().getId().getSequence());
 
 	public static final String RAW_MESSAGE_ATTRIBUTE = "raw";
 
 	private final MessageRouter<MessageGroupBatch> messageRouterGroupBatch;
 	private final long batchLimit;
+	private final long lingerNanos;
+	private final BlockingQueue<QueuedMessage> queue;
+	private final Map<String, PendingBatch> pendingBatches = new LinkedHashMap<>();
+	private final Thread publisher;
+	private volatile boolean closed = false;
 
 
 	public MessageStoreSender(CommonFactory factory) {
-		messageRouterGroupBatch = factory.getMessageRouterMessageGroupBatch();
-		CustomConfiguration customConfiguration = factory.getCustomConfiguration(CustomConfiguration.class);
-		this.batchLimit = customConfiguration.getMessageBatchLimit();
+		this(factory.getMessageRouterMessageGroupBatch(), factory.getCustomConfiguration(CustomConfiguration.class));
 		writeToLogAboutConnection(factory);
 	}
 
+	/**
+	 * Creates the sender publishing to the given router, e.g. a no-op or in-memory one for benchmarks and load tests
+	 */
+	public MessageStoreSender(MessageRouter<MessageGroupBatch> messageRouterGroupBatch, CustomConfiguration customConfiguration) {
+		this.messageRouterGroupBatch = messageRouterGroupBatch;
+		this.batchLimit = customConfiguration.getMessageBatchLimit();
+		this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(customConfiguration.getMessageBatchLingerMs());
+		this.queue = new ArrayBlockingQueue<>(customConfiguration.getMessageQueueSize());
+		this.publisher = new Thread(this::publishMessages, "hand-message-publisher");
+		this.publisher.setDaemon(true);
+		this.publisher.start();
+	}
+
+	public long getBatchLimit() {
+		return batchLimit;
+	}
+
+	/**
+	 * @return number of messages waiting to be sent
+	 */
+	public int getQueueSize() {
+		return queue.size();
+	}
+
     public void sendMessages(RawMessage messages) {
 		sendMessages(Collections.singleton(messages));
 	}
 
 	public void sendMessages(Collection<RawMessage> messages) {
+		if (closed) {
+			logger.error("Cannot store {} message(s) to mstore, sender is closed", messages.size());
+			return;
+		}
+
 		try {
-			sendRawMessages(messages);
-		} catch (Exception e) {
-			logger.error("Cannot store to mstore", e);
+			for (RawMessage message : messages) {
+				if (message != null)
+					queue.put(new QueuedMessage(message, null));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.error("Cannot store to mstore, interrupted while waiting for queue", e);
 		}
 	}
 
+	/**
+	 * Sends the message as {@link #sendMessages(RawMessage)} does, 
+	 * so a producer of big messages can wait for them to be sent instead of holding them all in the queue
+	 * @return future completed when the batch with the message is sent, exceptionally if it could not be sent
+	 */
+	public CompletableFuture<Void> sendMessage(RawMessage message) {
+		CompletableFuture<Void> sent = new CompletableFuture<>();
+		if (closed) {
+			sent.completeExceptionally(new IllegalStateException("Sender is closed"));
+			return sent;
+		}
+
+		try {
+			queue.put(new QueuedMessage(message, sent));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			sent.completeExceptionally(e);
+		}
+		return sent;
+	}
+
 	@Override
 	public void close() throws Exception {
+		closed = true;
+		publisher.join(CLOSE_TIMEOUT_MS);
+		if (publisher.isAlive()) {
+			logger.warn("Messages publisher has not finished in {} ms, {} message(s) are not sent", CLOSE_TIMEOUT_MS, queue.size());
+			publisher.interrupt();
+		}
 		messageRouterGroupBatch.close();
 	}
 
 
-	private void sendRawMessages(Collection<RawMessage> messages) throws Exception {
-		MessageGroupBatch.Builder currentBatchBuilder = MessageGroupBatch.newBuilder();
-		long currentBatchLength = 0;
-		long totalLength = 0;
-		int count = 0;
-		int batchesCount = 0;
-		for (RawMessage message : messages) {
-			if (message == null) 
-				continue;
-
-			long size = this.calculateSize(message);
-			
-			MessageGroup.Builder mgBuilder = MessageGroup.newBuilder()
-					.addMessages(AnyMessage.newBuilder().setRawMessage(message));
-			//if batchlimit has incorrect value, sender should pack each message to batch
-			//if one message is bigger that batchLimit it is should send to mstore anyway and reject by it
-			if (currentBatchLength + size > batchLimit && currentBatchLength != 0) {
-				this.messageRouterGroupBatch.sendAll(currentBatchBuilder.build(), RAW_MESSAGE_ATTRIBUTE);
-				currentBatchBuilder = MessageGroupBatch.newBuilder();
-				currentBatchLength = 0;
-				batchesCount++;
+	private void publishMessages() {
+		while (!closed || !queue.isEmpty()) {
+			QueuedMessage message = poll(getPollTimeout());
+			if (message != null)
+				addToBatch(message);
+			flushBatches(false);
+		}
+		flushBatches(true);
+	}
+
+	private long getPollTimeout() {
+		long now = System.nanoTime();
+		long timeout = TimeUnit.MILLISECONDS.toNanos(POLL_TIMEOUT_MS);
+		for (PendingBatch batch : pendingBatches.values()) {
+			timeout = Math.min(timeout, batch.deadline - now);
+		}
+		return timeout;
+	}
+
+	private QueuedMessage poll(long timeoutNanos) {
+		try {
+			return timeoutNanos > 0 ? queue.poll(timeoutNanos, TimeUnit.NANOSECONDS) : queue.poll();
+		} catch (InterruptedException e) {
+			logger.warn("Messages publisher has been interrupted");
+			closed = true;
+			return queue.poll();
+		}
+	}
+
+	private void addToBatch(QueuedMessage queuedMessage) {
+		RawMessage message = queuedMessage.message;
+		String key = getBatchKey(message);
+		long size = this.calculateSize(message);
+		PendingBatch batch = pendingBatches.get(key);
+		//if batchlimit has incorrect value, sender should pack each message to batch
+		//if one message is bigger that batchLimit it is should send to mstore anyway and reject by it
+		if (batch != null && batch.length + size > batchLimit) {
+			pendingBatches.remove(key);
+			send(batch);
+			batch = null;
+		}
+		if (batch == null) {
+			batch = new PendingBatch(System.nanoTime() + lingerNanos);
+			pendingBatches.put(key, batch);
+		}
+		batch.messages.add(message);
+		if (queuedMessage.sent != null)
+			batch.sent.add(queuedMessage.sent);
+		batch.length += size;
+	}
+
+	private void flushBatches(boolean all) {
+		long now = System.nanoTime();
+		Iterator<PendingBatch> iterator = pendingBatches.values().iterator();
+		while (iterator.hasNext()) {
+			PendingBatch batch = iterator.next();
+			if (all || batch.deadline - now <= 0) {
+				iterator.remove();
+				send(batch);
 			}
-			
-			currentBatchBuilder.addGroups(mgBuilder);
-			currentBatchLength += size;
-			totalLength += size;
-			count++;
 		}
-		
-		if (currentBatchLength != 0) {
-			this.messageRouterGroupBatch.sendAll(currentBatchBuilder.build(), RAW_MESSAGE_ATTRIBUTE);
-			batchesCount++;
+	}
+
+	private void send(PendingBatch batch) {
+		batch.messages.sort(MESSAGE_ORDER);
+		MessageGroupBatch.Builder batchBuilder = MessageGroupBatch.newBuilder();
+		for (RawMessage message : batch.messages) {
+			batchBuilder.addGroups(MessageGroup.newBuilder().addMessages(AnyMessage.newBuilder().setRawMessage(message)));
 		}
 
-		if (count == 0) {
-			logger.debug("There are no valid messages to send");
-			return;
+		try {
+			this.messageRouterGroupBatch.sendAll(batchBuilder.build(), RAW_MESSAGE_ATTRIBUTE);
+			logger.debug("Batch with {} message(s) to mstore was sent ({} bytes)", batch.messages.size(), batch.length);
+			batch.sent.forEach(sent -> sent.complete(null));
+		} catch (Exception e) {
+			logger.error("Cannot store to mstore", e);
+			batch.sent.forEach(sent -> sent.completeExceptionally(e));
 		}
-		
-		logger.debug("Group with {} message(s) separated by {} batches to mstore was sent ({} bytes)", 
-				count, batchesCount, totalLength);
+	}
+
+	/**
+	 * Messages of one batch should belong to the same book and session group, alias is used if group is not set
+	 */
+	private static String getBatchKey(RawMessage message) {
+		MessageID id = message.getMetadata().getId();
+		String group = id.getConnectionId().getSessionGroup();
+		return id.getBookName() + ':' + (group.isEmpty() ? id.getConnectionId().getSessionAlias() : group);
 	}
 
 	private long calculateSize(RawMessage message) {
 		return message.getBody().size();
 	}
 
+	private static class QueuedMessage {
+		private final RawMessage message;
+		/** Null if the producer does not wait for the message to be sent */
+		private final CompletableFuture<Void> sent;
+
+		private QueuedMessage(RawMessage message, CompletableFuture<Void> sent) {
+			this.message = message;
+			this.sent = sent;
+		}
+	}
+
+	private static class PendingBatch {
+		private final List<RawMessage> messages = new ArrayList<>();
+		private final List<CompletableFuture<Void>> sent = new ArrayList<>();
+		private final long deadline;
+		private long length = 0;
+
+		private PendingBatch(long deadline) {
+			this.deadline = deadline;
+		}
+	}
+
 	private void writeToLogAboutConnection(CommonFactory factory) {
 		if (!logger.isInfoEnabled())
 			return;
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.GeneratedMessageV3;
+import com.google.protobuf.Int32Value;
+import com.google.protobuf.StringValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes actions of a request as JSON directly to bytes, without intermediate maps.
+ * Fields present in a message are resolved by a plan cached for its descriptor, 
+ * the plan follows the order of {@link GeneratedMessageV3#getAllFields()}.
+ */
+public class RequestJsonWriter {
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+	private static final int INITIAL_BUFFER_SIZE = 512;
+
+	private final Map<Descriptors.Descriptor, List<FieldSlot>> plans = new ConcurrentHashMap<>();
+
+	/**
+	 * @return JSON equal to serialized {"messages": [{"ActionName": ..., field: value, ...}, ...]}
+	 */
+	public byte[] write(List<? extends GeneratedMessageV3> actions) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+		try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+			generator.writeStartObject();
+			generator.writeArrayFieldStart("messages");
+			for (GeneratedMessageV3 action : actions) {
+				for (FieldSlot slot : getPlan(action.getDescriptorForType())) {
+					Descriptors.FieldDescriptor field = slot.resolve(action);
+					if (field != null)
+						writeAction(generator, field, action.getField(field));
+				}
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+		}
+		return out.toByteArray();
+	}
+
+	private void writeAction(JsonGenerator generator, Descriptors.FieldDescriptor actionField, Object action) throws IOException {
+		generator.writeStartObject();
+		generator.writeStringField("ActionName", actionField.getName());
+		if (action instanceof GeneratedMessageV3) {
+			GeneratedMessageV3 message = (GeneratedMessageV3) action;
+			for (FieldSlot slot : getPlan(message.getDescriptorForType())) {
+				Descriptors.FieldDescriptor field = slot.resolve(message);
+				if (field == null)
+					continue;
+
+				generator.writeFieldName(field.getName());
+				Object value = message.getField(field);
+				if (value instanceof List) {
+					writeList(generator, (List<?>) value);
+				} else {
+					generator.writeString(valueToString(value));
+				}
+			}
+		}
+		generator.writeEndObject();
+	}
+
+	private void writeList(JsonGenerator generator, List<?> list) throws IOException {
+		generator.writeStartArray();
+		for (Object o : list) {
+			generator.writeStartObject();
+			if (o instanceof GeneratedMessageV3) {
+				GeneratedMessageV3 message = (GeneratedMessageV3) o;
+				for (FieldSlot slot : getPlan(message.getDescriptorForType())) {
+					Descriptors.FieldDescriptor field = slot.resolve(message);
+					if (field != null)
+						generator.writeStringField(field.getName(), valueToString(message.getField(field)));
+				}
+			} else {
+				generator.writeStringField("Value", valueToString(o));
+			}
+			generator.writeEndObject();
+		}
+		generator.writeEndArray();
+	}
+
+	private List<FieldSlot> getPlan(Descriptors.Descriptor descriptor) {
+		return plans.computeIfAbsent(descriptor, RequestJsonWriter::createPlan);
+	}
+
+	private static List<FieldSlot> createPlan(Descriptors.Descriptor descriptor) {
+		List<Descriptors.FieldDescriptor> fields = descriptor.getFields();
+		List<FieldSlot> plan = new ArrayList<>(fields.size());
+		for (int i = 0; i < fields.size(); i++) {
+			Descriptors.FieldDescriptor field = fields.get(i);
+			Descriptors.OneofDescriptor oneof = field.getContainingOneof();
+			if (oneof != null) {
+				// the same way as getAllFields does, fields of oneof are expected to go one by one
+				i += oneof.getFieldCount() - 1;
+				plan.add(new OneofSlot(oneof));
+			} else if (field.isRepeated()) {
+				plan.add(new RepeatedFieldSlot(field));
+			} else {
+				plan.add(new SingleFieldSlot(field));
+			}
+		}
+		return Collections.unmodifiableList(plan);
+	}
+
+	private static String valueToString(Object object) {
+		if (object instanceof Int32Value) {
+			return String.valueOf(((Int32Value) object).getValue());
+		} else if (object instanceof StringValue) {
+			return ((StringValue) object).getValue();
+		} else {
+			return String.valueOf(object);
+		}
+	}
+
+	private interface FieldSlot {
+		/**
+		 * @return field if it is present in the message, otherwise null
+		 */
+		Descriptors.FieldDescriptor resolve(GeneratedMessageV3 message);
+	}
+
+	private static class OneofSlot implements FieldSlot {
+		private final Descriptors.OneofDescriptor oneof;
+
+		private OneofSlot(Descriptors.OneofDescriptor oneof) {
+			this.oneof = oneof;
+		}
+
+		@Override
+		public Descriptors.FieldDescriptor resolve(GeneratedMessageV3 message) {
+			return message.hasOneof(oneof) ? message.getOneofFieldDescriptor(oneof) : null;
+		}
+	}
+
+	private static class RepeatedFieldSlot implements FieldSlot {
+		private final Descriptors.FieldDescriptor field;
+
+		private RepeatedFieldSlot(Descriptors.FieldDescriptor field) {
+			this.field = field;
+		}
+
+		@Override
+		public Descriptors.FieldDescriptor resolve(GeneratedMessageV3 message) {
+			return message.getRepeatedFieldCount(field) > 0 ? field : null;
+		}
+	}
+
+	private static class SingleFieldSlot implements FieldSlot {
+		private final Descriptors.FieldDescriptor field;
+
+		private SingleFieldSlot(Descriptors.FieldDescriptor field) {
+			this.field = field;
+		}
+
+		@Override
+		public Descriptors.FieldDescriptor resolve(GeneratedMessageV3 message) {
+			return message.hasField(field) ? field : null;
+		}
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.exactpro.th2.common.grpc.MessageID;
+import com.exactpro.th2.common.grpc.RawMessage;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import io.prometheus.client.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces screenshots identical to recently stored ones with small messages referring to the original.
+ * Screenshots are compared by SHA-1 of their content within the same session alias, 
+ * hashes of the last stored screenshots are kept in a bounded LRU index.
+ */
+public class ScreenshotDeduplicator {
+	private static final Logger logger = LoggerFactory.getLogger(ScreenshotDeduplicator.class);
+	private static final String HASH_ALGORITHM = "SHA-1";
+	private static final int HASH_BUFFER_SIZE = 0x10000;
+
+	public static final String REFERENCE_PROTOCOL = "application/json";
+	public static final String DUPLICATE_OF_PROPERTY = "duplicateOf";
+	public static final String CONTENT_HASH_PROPERTY = "contentHash";
+
+	private static final Counter DEDUPLICATED_SCREENSHOTS = Counter.build()
+			.name("th2_hand_screenshots_deduplicated_total")
+			.help("Number of screenshots stored as references to identical ones")
+			.register();
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final Map<String, MessageID> index;
+
+	public ScreenshotDeduplicator(int cacheSize) {
+		this.index = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, MessageID> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	/**
+	 * @return true if the screenshot with such hash was stored recently, the index is not changed
+	 */
+	public boolean isKnown(String sessionAlias, String hash) {
+		synchronized (index) {
+			return index.containsKey(sessionAlias + ':' + hash);
+		}
+	}
+
+	/**
+	 * Must be called in order of sequences of screenshots, so a reference always points to an earlier stored screenshot
+	 * @param hash content hash of the screenshot, see {@link #hash(ByteString)}
+	 * @return reference message with the same metadata if identical screenshot was stored recently, 
+	 * otherwise the screenshot message itself
+	 */
+	public RawMessage deduplicate(RawMessage screenshot, String hash) {
+		RawMessage reference = createReference(screenshot.getMetadata(), hash);
+		return reference != null ? reference : screenshot;
+	}
+
+	/**
+	 * Same as {@link #deduplicate(RawMessage, String)} for a screenshot which is not read into memory as a whole
+	 * @return reference message with the given metadata or null if no identical screenshot was stored recently
+	 */
+	public RawMessage createReference(RawMessageMetadata metadata, String hash) {
+		MessageID id = metadata.getId();
+		String key = id.getConnectionId().getSessionAlias() + ':' + hash;
+		MessageID original;
+		synchronized (index) {
+			original = index.putIfAbsent(key, id);
+		}
+		if (original == null)
+			return null;
+
+		try {
+			Map<String, Object> body = new LinkedHashMap<>();
+			body.put(DUPLICATE_OF_PROPERTY, toFields(original));
+			body.put(CONTENT_HASH_PROPERTY, hash);
+			RawMessage reference = RawMessage.newBuilder()
+					.setMetadata(metadata.toBuilder()
+							.setProtocol(REFERENCE_PROTOCOL)
+							.putProperties(DUPLICATE_OF_PROPERTY, String.valueOf(original.getSequence()))
+							.putProperties(CONTENT_HASH_PROPERTY, hash))
+					.setBody(UnsafeByteOperations.unsafeWrap(mapper.writeValueAsBytes(body)))
+					.build();
+			DEDUPLICATED_SCREENSHOTS.inc();
+			logger.debug("Screenshot {} is identical to {}, reference is stored", id.getSequence(), original.getSequence());
+			return reference;
+		} catch (JsonProcessingException e) {
+			logger.error("Could not encode reference to screenshot {}, screenshot is stored as is", original.getSequence(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * @return all parts of the message ID, so the original can be found in any book, group and time range
+	 */
+	private static Map<String, Object> toFields(MessageID id) {
+		Map<String, Object> fields = new LinkedHashMap<>();
+		fields.put("bookName", id.getBookName());
+		fields.put("sessionGroup", id.getConnectionId().getSessionGroup());
+		fields.put("sessionAlias", id.getConnectionId().getSessionAlias());
+		fields.put("direction", id.getDirection().name());
+		fields.put("sequence", id.getSequence());
+		fields.put("timestamp", Instant.ofEpochSecond(id.getTimestamp().getSeconds(), id.getTimestamp().getNanos()).toString());
+		return fields;
+	}
+
+	/**
+	 * @return SHA-1 of the content as a hex string
+	 */
+	public static String hash(ByteString content) {
+		MessageDigest digest = createDigest();
+		content.asReadOnlyByteBufferList().forEach(digest::update);
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * @return SHA-1 of the file content as a hex string, the file is read by small chunks
+	 */
+	public static String hash(Path file) throws IOException {
+		MessageDigest digest = createDigest();
+		byte[] buffer = new byte[HASH_BUFFER_SIZE];
+		try (InputStream input = Files.newInputStream(file)) {
+			int read;
+			while ((read = input.read(buffer)) != -1)
+				digest.update(buffer, 0, read);
+		}
+		return toHex(digest.digest());
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes)
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		return hex.toString();
+	}
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.exactpro.remotehand.ActionResult;
+import com.exactpro.remotehand.Configuration;
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.common.grpc.MessageID;
+import com.exactpro.th2.common.grpc.RawMessage;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
+import com.exactpro.th2.hand.builders.mstore.DefaultMessageStoreBuilder;
+import com.exactpro.th2.hand.schema.ScreenshotStorageConfiguration;
+import com.google.protobuf.UnsafeByteOperations;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Stores screenshots to mstore in background. IDs of screenshot messages are allocated by the caller thread, 
+ * files are read, deduplicated, transcoded and deleted by a pool of workers. Messages are published in order of their IDs.
+ * When the queue of workers is full, the caller thread waits for a free place. After the storage is closed, 
+ * stages of the remaining screenshots are run by threads triggering them.
+ * Screenshots bigger than the batch limit can be stored as several fragments, see {@link MessageFragments}.
+ */
+public class ScreenshotStorage implements AutoCloseable {
+	private static final Logger logger = LoggerFactory.getLogger(ScreenshotStorage.class);
+	private static final long CLOSE_TIMEOUT_SEC = 30;
+
+	private static final Gauge SCREENSHOTS_BACKLOG = Gauge.build()
+			.name("th2_hand_screenshots_backlog")
+			.help("Number of screenshots waiting to be stored to mstore")
+			.register();
+	private static final Gauge SCREENSHOT_WORKERS = Gauge.build()
+			.name("th2_hand_screenshot_workers")
+			.help("Number of workers storing screenshots to mstore")
+			.register();
+	private static final Counter SCREENSHOT_BYTES = Counter.build()
+			.name("th2_hand_screenshot_bytes_total")
+			.help("Size of screenshot messages sent to mstore")
+			.register();
+
+	/** 
+	 * Unlike {@link ThreadPoolExecutor.CallerRunsPolicy}, tasks are run also after shutdown: async stages of the publication chain 
+	 * may be triggered while the storage is closed, a dropped stage would never complete the chain
+	 */
+	private static final RejectedExecutionHandler RUN_IN_CALLER = (task, executor) -> task.run();
+
+	private final String sessionGroup;
+	private final MessageStoreSender messageStoreSender;
+	private final DefaultMessageStoreBuilder messageStoreBuilder;
+	private final ScreenshotDeduplicator deduplicator;
+	private final ScreenshotTranscoder transcoder;
+	private final int fragmentSize;
+	private final ThreadPoolExecutor workers;
+	/** Limits screenshots waiting for workers, the queue of workers itself is not bounded */
+	private final Semaphore admission;
+	private CompletableFuture<Void> lastPublication = CompletableFuture.completedFuture(null);
+
+	public ScreenshotStorage(String sessionGroup, MessageStoreSender messageStoreSender,
+	                         DefaultMessageStoreBuilder messageStoreBuilder, ScreenshotStorageConfiguration configuration) {
+		this.fragmentSize = configuration.isFragmentOversized() ? MessageFragments.getFragmentSize(messageStoreSender.getBatchLimit()) : 0;
+		this.sessionGroup = sessionGroup;
+		this.messageStoreSender = messageStoreSender;
+		this.messageStoreBuilder = messageStoreBuilder;
+		this.deduplicator = configuration.isDeduplicate() ? new ScreenshotDeduplicator(configuration.getDeduplicationCacheSize()) : null;
+		this.transcoder = configuration.getTranscoding().isEnabled() ? new ImageIOScreenshotTranscoder(configuration.getTranscoding()) : null;
+		int workersCount = configuration.getWorkers();
+		this.workers = new ThreadPoolExecutor(workersCount, workersCount, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(),
+				new BasicThreadFactory.Builder().namingPattern("hand-screenshot-storage-%d").daemon(true).build(),
+				RUN_IN_CALLER);
+		this.admission = new Semaphore(configuration.getQueueSize() + workersCount);
+		SCREENSHOT_WORKERS.set(workersCount);
+	}
+
+	/**
+	 * Allocates IDs for the screenshots and schedules their storing
+	 * @return IDs of messages which will contain the screenshots
+	 */
+	public List<MessageID> store(List<ActionResult> screenshotIds, String sessionAlias) {
+		if (screenshotIds == null || screenshotIds.isEmpty()) {
+			logger.debug("No screenshots to store");
+			return Collections.emptyList();
+		}
+
+		List<MessageID> messageIDs = new ArrayList<>(screenshotIds.size());
+		for (ActionResult screenshotId : screenshotIds) {
+			logger.debug("Storing screenshot id {}", screenshotId);
+			Path screenPath = Configuration.SCREENSHOTS_DIR_PATH.resolve(screenshotId.getData());
+			if (!Files.exists(screenPath)) {
+				logger.warn("Screenshot with id {} does not exists", screenshotId);
+				continue;
+			}
+			MessageID messageID = schedule(screenPath, sessionAlias);
+			if (messageID != null)
+				messageIDs.add(messageID);
+		}
+		return messageIDs;
+	}
+
+	/**
+	 * Only ID allocation and chaining of publication are done under the lock, so messages are published in order of sequences. 
+	 * Files are never read and stages are never run under the lock.
+	 * @return ID of the first message of the screenshot or null if the caller thread has been interrupted while waiting for workers
+	 */
+	private MessageID schedule(Path screenPath, String sessionAlias) {
+		int fragments = countFragments(screenPath);
+		try {
+			admission.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.error("Screenshot {} is not stored, interrupted while waiting for workers", screenPath, e);
+			removeScreenshot(screenPath);
+			return null;
+		}
+		SCREENSHOTS_BACKLOG.inc();
+
+		List<RawMessageMetadata> metadata;
+		CompletableFuture<Void> previous;
+		CompletableFuture<Void> published = new CompletableFuture<>();
+		synchronized (this) {
+			metadata = messageStoreBuilder.buildScreenshotMetadata(Direction.FIRST, sessionAlias, sessionGroup, fragments);
+			previous = lastPublication;
+			lastPublication = published;
+		}
+
+		CompletableFuture<Void> publication;
+		if (fragments > 1 && transcoder == null) {
+			// oversized file is read by fragments when previous screenshots are published, so it is never held in memory as a whole
+			publication = previous.thenRunAsync(() -> streamFragments(screenPath, metadata), workers);
+		} else {
+			CompletableFuture<ReadScreenshot> reading = CompletableFuture.supplyAsync(() -> read(screenPath, metadata), workers);
+			// stages run one after another in order of IDs, so deduplication there refers only to earlier screenshots
+			publication = previous.thenAcceptBothAsync(reading, 
+					(ignored, screenshot) -> publish(toMessages(screenshot, metadata)), workers);
+		}
+		publication.whenComplete((ignored, error) -> {
+			SCREENSHOTS_BACKLOG.dec();
+			admission.release();
+			if (error != null)
+				logger.error("Cannot store screenshot {}", screenPath, error);
+			published.complete(null);
+		});
+		return metadata.get(0).getId();
+	}
+
+	/**
+	 * @return number of message IDs to reserve for the screenshot, more than 1 if it will not fit into one batch
+	 */
+	private int countFragments(Path screenPath) {
+		if (fragmentSize <= 0)
+			return 1;
+		try {
+			return MessageFragments.countFragments(Files.size(screenPath), fragmentSize);
+		} catch (IOException e) {
+			logger.warn("Cannot get size of screenshot {}", screenPath, e);
+			return 1;
+		}
+	}
+
+	/**
+	 * Reads, hashes and transcodes the screenshot in a worker, 
+	 * screenshots already known as duplicates are not transcoded since they will be replaced with references
+	 */
+	private ReadScreenshot read(Path screenPath, List<RawMessageMetadata> metadata) {
+		try {
+			RawMessage screenshot = messageStoreBuilder.buildMessageFromFile(screenPath, metadata.get(0));
+			if (screenshot == null)
+				return null;
+			String hash = deduplicator != null ? ScreenshotDeduplicator.hash(screenshot.getBody()) : null;
+			boolean knownDuplicate = hash != null 
+					&& deduplicator.isKnown(screenshot.getMetadata().getId().getConnectionId().getSessionAlias(), hash);
+			RawMessage transcoded = transcoder != null && !knownDuplicate ? transcoder.transcode(screenshot) : null;
+			return new ReadScreenshot(screenshot, transcoded, hash);
+		} finally {
+			removeScreenshot(screenPath);
+		}
+	}
+
+	/**
+	 * Deduplicates the screenshot and splits it to fragments if needed, called in order of IDs
+	 */
+	private List<RawMessage> toMessages(ReadScreenshot screenshot, List<RawMessageMetadata> metadata) {
+		if (screenshot == null)
+			return Collections.emptyList();
+
+		RawMessage message = screenshot.original;
+		if (screenshot.hash != null)
+			message = deduplicator.deduplicate(screenshot.original, screenshot.hash);
+		// references to duplicates are small already, only screenshots themselves are transcoded
+		if (message == screenshot.original && transcoder != null) 
+			message = screenshot.transcoded != null ? screenshot.transcoded : transcoder.transcode(screenshot.original);
+		if (metadata.size() == 1)
+			return Collections.singletonList(message);
+
+		List<RawMessage> fragments = MessageFragments.split(message, metadata, fragmentSize);
+		return fragments != null ? fragments : MessageFragments.split(screenshot.original, metadata, fragmentSize);
+	}
+
+	/**
+	 * Reads the oversized screenshot by fragments, the next fragment is read when the previous one is sent, 
+	 * so at most two fragments are held in memory. With deduplication the file is hashed by an extra pass 
+	 * before fragments are read, so a duplicate is stored as a reference without reading it.
+	 */
+	private void streamFragments(Path screenPath, List<RawMessageMetadata> metadata) {
+		try {
+			if (deduplicator != null) {
+				RawMessage reference = deduplicator.createReference(metadata.get(0), ScreenshotDeduplicator.hash(screenPath));
+				if (reference != null) {
+					publish(Collections.singletonList(reference));
+					return;
+				}
+			}
+
+			long firstSequence = metadata.get(0).getId().getSequence();
+			CompletableFuture<Void> previousFragment = CompletableFuture.completedFuture(null);
+			try (InputStream input = Files.newInputStream(screenPath)) {
+				for (int i = 0; i < metadata.size(); i++) {
+					byte[] fragment = input.readNBytes(fragmentSize);
+					CompletableFuture<Void> sentFragment = publishFragment(MessageFragments.buildFragment(metadata.get(i),
+							UnsafeByteOperations.unsafeWrap(fragment), i, metadata.size(), firstSequence));
+					previousFragment.get();
+					previousFragment = sentFragment;
+				}
+				if (input.read() != -1)
+					logger.warn("Screenshot {} has grown while it was stored, its end is lost", screenPath);
+			}
+			previousFragment.get();
+		} catch (IOException | ExecutionException e) {
+			logger.error("Cannot store screenshot {}", screenPath, e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.error("Storing of screenshot {} has been interrupted", screenPath, e);
+		} finally {
+			removeScreenshot(screenPath);
+		}
+	}
+
+	private CompletableFuture<Void> publishFragment(RawMessage fragment) {
+		SCREENSHOT_BYTES.inc(fragment.getBody().size());
+		return messageStoreSender.sendMessage(fragment);
+	}
+
+	private void publish(List<RawMessage> messages) {
+		messageStoreSender.sendMessages(messages);
+		for (RawMessage message : messages)
+			SCREENSHOT_BYTES.inc(message.getBody().size());
+	}
+
+	private void removeScreenshot(Path file) {
+		try {
+			Files.delete(file);
+		} catch (IOException e) {
+			logger.warn("Error deleting file: " + file.toAbsolutePath(), e);
+		}
+	}
+
+	@Override
+	public void close() throws Exception {
+		workers.shutdown();
+		CompletableFuture<Void> publication;
+		synchronized (this) {
+			publication = lastPublication;
+		}
+		try {
+			publication.get(CLOSE_TIMEOUT_SEC, TimeUnit.SECONDS);
+		} catch (TimeoutException e) {
+			logger.warn("Screenshots have not been stored in {} seconds, {} screenshot(s) are lost", 
+					CLOSE_TIMEOUT_SEC, (long) SCREENSHOTS_BACKLOG.get());
+			workers.shutdownNow();
+		}
+	}
+
+	private static class ReadScreenshot {
+		private final RawMessage original;
+		/** Null if transcoding is disabled or the screenshot is a known duplicate */
+		private final RawMessage transcoded;
+		/** Null if deduplication is disabled */
+		private final String hash;
+
+		private ReadScreenshot(RawMessage original, RawMessage transcoded, String hash) {
+			this.original = original;
+			this.transcoded = transcoded;
+			this.hash = hash;
+		}
+	}
+}
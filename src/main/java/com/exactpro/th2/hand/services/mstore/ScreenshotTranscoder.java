@@ -0,0 +1,29 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.exactpro.th2.common.grpc.RawMessage;
+
+/**
+ * Stage converting screenshot messages before they are stored, e.g. to reduce their size
+ */
+public interface ScreenshotTranscoder {
+	/**
+	 * @return converted message with the same ID or the original message if it cannot be converted
+	 */
+	RawMessage transcode(RawMessage screenshot);
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand;
+
+import com.exactpro.th2.common.schema.factory.CommonFactory;
+import com.exactpro.th2.hand.schema.CustomConfiguration;
+import com.exactpro.th2.hand.services.HandSessionHandler;
+import com.exactpro.th2.hand.services.TimedSessionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RhSessionPoolTest {
+	private static final String TARGET = "target";
+
+	private final List<TimedSessionHandler> created = new CopyOnWriteArrayList<>();
+	private CommonFactory factory;
+	private RhConnectionManager connectionManager;
+
+	@BeforeEach
+	void setUp() {
+		factory = new CommonFactory();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		if (connectionManager != null)
+			connectionManager.dispose();
+		factory.close();
+	}
+
+	@Test
+	void registrationTakesPooledSession() throws Exception {
+		connectionManager = createConnectionManager(2, 0, false);
+		awaitCondition(() -> created.size() == 2);
+
+		HandSessionHandler registered = connectionManager.createSessionHandler(TARGET);
+		assertTrue(created.contains(registered));
+		assertSame(registered, connectionManager.findSessionHandler(registered.getId()));
+		// the leased session is replaced in the pool
+		awaitCondition(() -> created.size() == 3);
+	}
+
+	@Test
+	void pooledSessionsCountTowardTargetLimit() throws Exception {
+		connectionManager = createConnectionManager(2, 2, false);
+		awaitCondition(() -> created.size() == 2);
+
+		HandSessionHandler first = connectionManager.createSessionHandler(TARGET);
+		HandSessionHandler second = connectionManager.createSessionHandler(TARGET);
+		assertNotSame(first, second);
+		assertEquals(2, created.size(), "pooled sessions are registered, new ones are not opened");
+		assertThrows(HandException.class, () -> connectionManager.createSessionHandler(TARGET));
+
+		connectionManager.closeSessionHandler(first.getId());
+		// the freed slot is taken by the pool
+		awaitCondition(() -> created.size() == 3);
+		assertSame(created.get(2), connectionManager.createSessionHandler(TARGET));
+		assertEquals(3, created.size());
+	}
+
+	@Test
+	void sessionFailedToWarmUpIsClosedAndFreesSlot() throws Exception {
+		connectionManager = createConnectionManager(1, 1, true);
+		awaitCondition(() -> created.size() == 1 && created.get(0).isClosed());
+
+		HandSessionHandler registered = connectionManager.createSessionHandler(TARGET);
+		assertEquals(2, created.size());
+		assertSame(created.get(1), registered);
+		assertFalse(registered.isClosed());
+	}
+
+	private RhConnectionManager createConnectionManager(int poolSize, int maxSessions, boolean failing) throws Exception {
+		Map<String, Object> custom = new HashMap<>();
+		custom.put("driversMapping", Map.of(TARGET, Map.of("type", "web", "url", "http://localhost:4444")));
+		custom.put("sessionPool", Map.of("size", poolSize));
+		custom.put("maxSessionsPerTarget", maxSessions);
+		Config config = new Config(factory, new ObjectMapper().convertValue(custom, CustomConfiguration.class));
+		return new RhConnectionManager(config, TimedSessionHandler.factory(created, failing));
+	}
+
+	private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline)
+			Thread.sleep(1);
+		assertTrue(condition.getAsBoolean());
+	}
+}
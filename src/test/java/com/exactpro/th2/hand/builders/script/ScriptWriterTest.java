@@ -0,0 +1,261 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.builders.script;
+
+import com.exactpro.remotehand.windows.SearchParams;
+import com.exactpro.th2.act.grpc.hand.RhActionList;
+import com.exactpro.th2.act.grpc.hand.RhWebActionList;
+import com.exactpro.th2.act.grpc.hand.RhWinActionList;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
+import com.exactpro.th2.hand.HandException;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Checks that scripts are the same as written by CSVPrinter with CSVFormat.DEFAULT which was used to write them before. 
+ * Golden scripts in resources were generated by the builders based on CSVPrinter from actions created by {@link #webActions()} 
+ * and {@link #winActions()}.
+ */
+class ScriptWriterTest {
+	private static final List<String> VALUES = Arrays.asList("value", "", "#value", "!value", " value", "value ", 
+			"value\t", "\"value\"", "va\"lue", "\"", "a,b", ",", "line1\r\nline2", "line1\nline2", "\r", "\u043a\u043b\u044e\u0447");
+	/** Values of golden actions, each action is also written with default values of fields */
+	private static final List<String> GOLDEN_VALUES = Arrays.asList("value", "", "va\"lue, \"quoted\"", "line1\r\nline2\nline3", 
+			"#value", " value ", "\u043a\u043b\u044e\u0447");
+	/** 
+	 * Fields which may be declared as strings or as numbers or booleans always get values written the same way in both cases, 
+	 * so the goldens do not depend on the declared type
+	 */
+	private static final Set<String> NUMBER_FIELDS = Set.of("checkInterval", "clickOffsetX", "clickOffsetY", "columnIndex", 
+			"endXOffset", "endYOffset", "firstRowIndex", "fromOffsetX", "fromOffsetY", "maxIterations", "maxTimeout", "timeout", 
+			"startXOffset", "startYOffset", "toOffsetX", "toOffsetY", "xOffset", "yOffset");
+	private static final Set<String> BOOLEAN_FIELDS = Set.of("clearBefore", "execute", "isDirectText", "isElementInTree", 
+			"isElementShouldBeDisplayed", "saveResult");
+	/** Goldens contain these headers of the default locator, the actual ones are defined by RemoteHand */
+	private static final Pattern GOLDEN_LOCATOR_HEADER = Pattern.compile("\"#(locator|matcherindex|matcher)(\\d*)\"");
+	private static final int MAX_DEPTH = 3;
+
+	@Test
+	void valuesAreQuotedAsByCsvPrinter() throws IOException {
+		for (String value : VALUES) {
+			ScriptWriter writer = ScriptWriter.get();
+			writer.startAction(value, value);
+			writer.add(value, value);
+			writer.add(value, 7);
+			writer.add(value, true);
+			writer.endAction();
+			writer.startAction(value, null);
+			writer.add(value, (String) null);
+			writer.endAction();
+
+			String expected = print(Arrays.asList(value, value, value, value), Arrays.asList(value, value, 7, true), 
+					Arrays.asList(value, value), Arrays.asList(null, null));
+			assertEquals(expected, writer.finish(), () -> "Value: " + value);
+		}
+	}
+
+	@Test
+	void templatesAreTakenByShape() {
+		for (int cacheSize : new int[] {1, 10}) {
+			ScriptTemplateCache cache = new ScriptTemplateCache(cacheSize);
+			for (int i = 0; i < 3; i++) {
+				for (boolean withOptional : new boolean[] {true, false}) {
+					assertEquals(writeActions(ScriptWriter.get(), withOptional), writeActions(ScriptWriter.get(cache), withOptional), 
+							() -> "Cache size: " + cacheSize + ", with optional field: " + withOptional);
+				}
+			}
+		}
+	}
+
+	@Test
+	void webScriptIsEqualToGolden() throws IOException, HandException {
+		for (RhWebActions.ActionCase actionCase : RhWebActions.ActionCase.values()) {
+			if (actionCase != RhWebActions.ActionCase.ACTION_NOT_SET)
+				assertNotNull(ActionsMapping.getWebMapping().createInstance(actionCase), () -> "No builder for " + actionCase);
+		}
+		assertGolden("web-actions.csv", webActions());
+	}
+
+	@Test
+	void winScriptIsEqualToGolden() throws IOException, HandException {
+		for (RhWinActions.ActionCase actionCase : RhWinActions.ActionCase.values()) {
+			if (actionCase != RhWinActions.ActionCase.ACTION_NOT_SET)
+				assertNotNull(ActionsMapping.getWindowsMapping().createInstance(actionCase), () -> "No builder for " + actionCase);
+		}
+		assertGolden("win-actions.csv", winActions());
+	}
+
+	/**
+	 * @return every web action with default values of fields and with each of golden values in all fields
+	 */
+	static RhActionList webActions() {
+		RhWebActionList.Builder actions = RhWebActionList.newBuilder();
+		for (RhWebActions.ActionCase actionCase : RhWebActions.ActionCase.values()) {
+			if (actionCase == RhWebActions.ActionCase.ACTION_NOT_SET)
+				continue;
+			actions.addWebActionList((RhWebActions) createAction(RhWebActions.newBuilder(), actionCase.getNumber(), null));
+			for (String value : GOLDEN_VALUES)
+				actions.addWebActionList((RhWebActions) createAction(RhWebActions.newBuilder(), actionCase.getNumber(), value));
+		}
+		return RhActionList.newBuilder().setWeb(actions).build();
+	}
+
+	/**
+	 * @return every windows action with default values of fields and with each of golden values in all fields
+	 */
+	static RhActionList winActions() {
+		RhWinActionList.Builder actions = RhWinActionList.newBuilder();
+		for (RhWinActions.ActionCase actionCase : RhWinActions.ActionCase.values()) {
+			if (actionCase == RhWinActions.ActionCase.ACTION_NOT_SET)
+				continue;
+			actions.addWinActionList((RhWinActions) createAction(RhWinActions.newBuilder(), actionCase.getNumber(), null));
+			for (String value : GOLDEN_VALUES)
+				actions.addWinActionList((RhWinActions) createAction(RhWinActions.newBuilder(), actionCase.getNumber(), value));
+		}
+		return RhActionList.newBuilder().setWin(actions).build();
+	}
+
+	/**
+	 * The script is built twice by each builder, so the second time templates are taken from the cache if it is enabled
+	 */
+	private static void assertGolden(String name, RhActionList actions) throws IOException, HandException {
+		byte[] golden = readGolden(name);
+		for (int cacheSize : new int[] {0, 1000}) {
+			ScriptBuilder builder = new ScriptBuilder(cacheSize);
+			for (int i = 0; i < 2; i++) {
+				String script = builder.buildScript(actions);
+				assertArrayEquals(golden, script.getBytes(StandardCharsets.UTF_8), 
+						() -> name + ", cache size " + cacheSize + ":\n" + script);
+			}
+		}
+	}
+
+	private static byte[] readGolden(String name) throws IOException {
+		String golden;
+		try (InputStream input = ScriptWriterTest.class.getResourceAsStream(name)) {
+			assertNotNull(input, () -> "No golden script " + name);
+			golden = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+		}
+
+		SearchParams.HeaderKeys keys = SearchParams.HeaderKeys.DEFAULT;
+		Matcher matcher = GOLDEN_LOCATOR_HEADER.matcher(golden);
+		StringBuilder result = new StringBuilder();
+		while (matcher.find()) {
+			String header = matcher.group(1).equals("locator") ? keys.locator 
+					: matcher.group(1).equals("matcher") ? keys.matcher : keys.index;
+			matcher.appendReplacement(result, Matcher.quoteReplacement(CSVFormat.DEFAULT.format(header + matcher.group(2))));
+		}
+		matcher.appendTail(result);
+		return result.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String writeActions(ScriptWriter writer, boolean withOptional) {
+		for (String value : VALUES) {
+			writer.startAction(BaseBuilder.ACTION, value);
+			if (withOptional)
+				writer.add("#optional", value);
+			writer.add(value, value);
+			writer.add("#number", 7);
+			writer.endAction();
+		}
+		return writer.finish();
+	}
+
+	private static String print(Object... records) throws IOException {
+		StringBuilder out = new StringBuilder();
+		try (CSVPrinter printer = new CSVPrinter(out, CSVFormat.DEFAULT)) {
+			for (Object record : records)
+				printer.printRecord((Iterable<?>) record);
+		}
+		return out.toString();
+	}
+
+	/**
+	 * @param value value of all fields of the action or null to keep default values of fields
+	 */
+	private static Message createAction(Message.Builder action, int actionNumber, String value) {
+		FieldDescriptor field = action.getDescriptorForType().findFieldByNumber(actionNumber);
+		return action.setField(field, fill(action.newBuilderForField(field), value, 1)).build();
+	}
+
+	/**
+	 * Sets all fields of the message, repeated ones get two elements. 
+	 * If the value is null, only fields of {@link #NUMBER_FIELDS} and {@link #BOOLEAN_FIELDS} are set.
+	 */
+	private static Message fill(Message.Builder message, String value, int depth) {
+		for (FieldDescriptor field : message.getDescriptorForType().getFields()) {
+			Object fieldValue = createValue(message, field, value, depth);
+			if (fieldValue == null)
+				continue;
+
+			if (field.isRepeated()) {
+				message.addRepeatedField(field, fieldValue);
+				message.addRepeatedField(field, fieldValue);
+			} else {
+				message.setField(field, fieldValue);
+			}
+		}
+		return message.build();
+	}
+
+	private static Object createValue(Message.Builder message, FieldDescriptor field, String value, int depth) {
+		if (field.getJavaType() == FieldDescriptor.JavaType.STRING) {
+			if (NUMBER_FIELDS.contains(field.getName()))
+				return "7";
+			if (BOOLEAN_FIELDS.contains(field.getName()))
+				return "true";
+		}
+		if (field.getJavaType() == FieldDescriptor.JavaType.MESSAGE) {
+			if (depth >= MAX_DEPTH)
+				return null;
+			Message fieldValue = fill(message.newBuilderForField(field), value, depth + 1);
+			return value != null || !fieldValue.equals(fieldValue.getDefaultInstanceForType()) ? fieldValue : null;
+		}
+		if (value == null)
+			return null;
+
+		switch (field.getJavaType()) {
+			case STRING: return value;
+			case INT: return 7;
+			case LONG: return 7L;
+			case BOOLEAN: return true;
+			case ENUM:
+				List<EnumValueDescriptor> values = field.getEnumType().getValues();
+				return values.get(Math.min(1, values.size() - 1));
+			default: return null;
+		}
+	}
+}
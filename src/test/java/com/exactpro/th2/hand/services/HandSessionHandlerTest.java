@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services;
+
+import com.exactpro.remotehand.ScriptExecuteException;
+import com.exactpro.th2.common.schema.factory.CommonFactory;
+import com.exactpro.th2.hand.Config;
+import com.exactpro.th2.hand.RhConnectionManager;
+import com.exactpro.th2.hand.schema.CustomConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HandSessionHandlerTest {
+	private static final String TARGET = "target";
+	private static final int SAMPLES = 40;
+	/** Result of the script was checked once a second before the polling interval became adaptive */
+	private static final long OLD_FLOOR_MS = 1000;
+
+	private static CommonFactory factory;
+	private static RhConnectionManager connectionManager;
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		factory = new CommonFactory();
+		Map<String, Object> custom = Map.of("driversMapping", 
+				Map.of(TARGET, Map.of("type", "web", "url", "http://localhost:4444")));
+		Config config = new Config(factory, new ObjectMapper().convertValue(custom, CustomConfiguration.class));
+		connectionManager = new RhConnectionManager(config, TimedSessionHandler.factory(new CopyOnWriteArrayList<>()));
+	}
+
+	@AfterAll
+	static void tearDown() throws Exception {
+		connectionManager.dispose();
+		factory.close();
+	}
+
+	@Test
+	void shortScriptResultIsReturnedWellUnderOldFloor() throws Exception {
+		long[] latencies = measure(20);
+		assertTrue(percentile(latencies, 50) < 100, () -> "p50 " + percentile(latencies, 50) + " ms");
+		assertTrue(percentile(latencies, 99) < OLD_FLOOR_MS / 2, () -> "p99 " + percentile(latencies, 99) + " ms");
+	}
+
+	@Test
+	void resultIsPolledWithBoundedDelay() throws Exception {
+		long[] latencies = measure(300);
+		// the result may be picked up one maximal polling interval after it is available
+		assertTrue(percentile(latencies, 50) < 300 + 250, () -> "p50 " + percentile(latencies, 50) + " ms");
+		assertTrue(percentile(latencies, 99) < OLD_FLOOR_MS, () -> "p99 " + percentile(latencies, 99) + " ms");
+	}
+
+	@Test
+	void timeoutIsHonoured() throws Exception {
+		TimedSessionHandler handler = (TimedSessionHandler) connectionManager.createSessionHandler(TARGET);
+		try {
+			handler.setScriptDurationMs(TimeUnit.MINUTES.toMillis(1));
+			handler.startScript("");
+			long start = System.nanoTime();
+			assertThrows(ScriptExecuteException.class, () -> handler.waitAndGet(1));
+			long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			assertTrue(elapsedMs >= 1000 && elapsedMs < 1500, () -> "timeout after " + elapsedMs + " ms");
+		} finally {
+			connectionManager.closeSessionHandler(handler.getId());
+		}
+	}
+
+	private static long[] measure(long scriptDurationMs) throws Exception {
+		TimedSessionHandler handler = (TimedSessionHandler) connectionManager.createSessionHandler(TARGET);
+		try {
+			handler.setScriptDurationMs(scriptDurationMs);
+			long[] latencies = new long[SAMPLES];
+			for (int i = 0; i < SAMPLES; i++) {
+				long start = System.nanoTime();
+				handler.startScript("");
+				assertTrue(handler.waitAndGet(10).isSuccess());
+				latencies[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			}
+			Arrays.sort(latencies);
+			return latencies;
+		} finally {
+			connectionManager.closeSessionHandler(handler.getId());
+		}
+	}
+
+	private static long percentile(long[] sorted, int percentile) {
+		return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+	}
+}
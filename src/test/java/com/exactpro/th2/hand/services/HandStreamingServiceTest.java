@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services;
+
+import com.exactpro.th2.act.grpc.hand.RhActionList;
+import com.exactpro.th2.act.grpc.hand.RhActionsBatch;
+import com.exactpro.th2.act.grpc.hand.RhBatchResponse;
+import com.exactpro.th2.act.grpc.hand.RhBatchResponse.ScriptExecutionStatus;
+import com.exactpro.th2.act.grpc.hand.RhSessionID;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.Wait;
+import com.exactpro.th2.common.schema.factory.CommonFactory;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.hand.Config;
+import com.exactpro.th2.hand.RhConnectionManager;
+import com.exactpro.th2.hand.builders.mstore.SequenceGenerator;
+import com.exactpro.th2.hand.schema.CustomConfiguration;
+import com.exactpro.th2.hand.services.estore.EventStoreSender;
+import com.exactpro.th2.hand.services.mstore.MessageStoreSender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HandStreamingServiceTest {
+	private static final String TARGET = "target";
+	private static final String OTHER_SESSION = "other-session";
+	/** Batches the service requests from the client at the start of a bidirectional stream */
+	private static final int PREFETCHED_BATCHES = 4;
+
+	private CommonFactory factory;
+	private MessageHandler messageHandler;
+	private HandStreamingService service;
+	private TimedSessionHandler session;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		factory = new CommonFactory();
+		Map<String, Object> custom = Map.of(
+				"driversMapping", Map.of(TARGET, Map.of("type", "web", "url", "http://localhost:4444")),
+				"sessionQueueTimeoutSec", 1);
+		CustomConfiguration customConfiguration = new ObjectMapper().convertValue(custom, CustomConfiguration.class);
+		Config config = new Config(factory, customConfiguration);
+		RhConnectionManager connectionManager = new RhConnectionManager(config,
+				TimedSessionHandler.factory(new CopyOnWriteArrayList<>()));
+		messageHandler = new MessageHandler(config, new SequenceGenerator(System.currentTimeMillis()), connectionManager,
+				new MessageStoreSender(router(), customConfiguration), new EventStoreSender(router(), config.getEventBatching()));
+		service = new HandStreamingService();
+		service.init(messageHandler);
+		session = (TimedSessionHandler) connectionManager.createSessionHandler(TARGET);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		messageHandler.close();
+		factory.close();
+	}
+
+	@Test
+	void responsesFollowOrderOfBatches() throws Exception {
+		session.setScriptDurationMs(200);
+		ResponseObserver responses = new ResponseObserver(true);
+		StreamObserver<RhActionsBatch> requests = service.executeRhActionsBatches(responses);
+		requests.onNext(batch(session.getId(), 1));
+		// the batch is skipped at once, but its response is sent after the response of the previous batch
+		requests.onNext(batch(OTHER_SESSION, 1));
+		requests.onNext(batch(session.getId(), 1));
+		requests.onCompleted();
+
+		responses.awaitCompleted();
+		assertEquals(List.of(ScriptExecutionStatus.SUCCESS, ScriptExecutionStatus.HAND_INTERNAL_ERROR, ScriptExecutionStatus.SUCCESS),
+				responses.values.stream().map(RhBatchResponse::getScriptStatus).collect(Collectors.toList()));
+		assertEquals(List.of(session.getId(), OTHER_SESSION, session.getId()),
+				responses.values.stream().map(RhBatchResponse::getSessionId).collect(Collectors.toList()));
+		assertEquals(PREFETCHED_BATCHES + 3, responses.requested.get());
+	}
+
+	@Test
+	void nextBatchIsRequestedWhenClientIsReady() throws Exception {
+		ResponseObserver responses = new ResponseObserver(false);
+		StreamObserver<RhActionsBatch> requests = service.executeRhActionsBatches(responses);
+		requests.onNext(batch(session.getId(), 1));
+		requests.onNext(batch(session.getId(), 1));
+		awaitCondition(() -> responses.values.size() == 2);
+		assertEquals(PREFETCHED_BATCHES, responses.requested.get(), "client does not read responses");
+
+		responses.setReady();
+		assertEquals(PREFETCHED_BATCHES + 2, responses.requested.get());
+		requests.onCompleted();
+		responses.awaitCompleted();
+	}
+
+	@Test
+	void errorResponseHasMessageOfCause() throws Exception {
+		session.setScriptDurationMs(1500);
+		ResponseObserver responses = new ResponseObserver(true);
+		StreamObserver<RhActionsBatch> requests = service.executeRhActionsBatches(responses);
+		requests.onNext(batch(session.getId(), 1));
+		// waits in the queue of the session longer than sessionQueueTimeoutSec
+		requests.onNext(batch(session.getId(), 1));
+		requests.onCompleted();
+
+		responses.awaitCompleted();
+		RhBatchResponse rejected = responses.values.get(1);
+		assertEquals(ScriptExecutionStatus.HAND_INTERNAL_ERROR, rejected.getScriptStatus());
+		assertEquals("Actions batch is rejected: Actions batch has waited for previous batches of session '" + session.getId()
+				+ "' more than 1 seconds", rejected.getErrorMessage());
+	}
+
+	@Test
+	void partialResponsesWaitForReadyClient() throws Exception {
+		ResponseObserver responses = new ResponseObserver(false);
+		service.executeRhActionsBatchStream(batch(session.getId(), 2), responses);
+		Thread.sleep(200);
+		assertTrue(responses.values.isEmpty(), "responses are not sent while the client is not ready");
+
+		responses.setReady();
+		responses.awaitCompleted();
+		assertEquals(3, responses.values.size());
+		assertEquals(TimedSessionHandler.ACTION_RESULT, responses.values.get(0).getResult(0).getResult());
+		assertEquals(TimedSessionHandler.ACTION_RESULT, responses.values.get(1).getResult(0).getResult());
+		assertEquals(ScriptExecutionStatus.SUCCESS, responses.values.get(2).getScriptStatus());
+		assertEquals(0, responses.values.get(2).getResultCount());
+	}
+
+	private static RhActionsBatch batch(String sessionId, int actions) {
+		RhActionList.Builder actionList = RhActionList.newBuilder();
+		for (int i = 0; i < actions; i++)
+			actionList.getWebBuilder().addWebActionList(RhWebActions.newBuilder().setWait(Wait.newBuilder().setSeconds(0)));
+		return RhActionsBatch.newBuilder()
+				.setSessionId(RhSessionID.newBuilder().setId(sessionId))
+				.setEventName("Batch")
+				.setRhAction(actionList)
+				.build();
+	}
+
+	private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline)
+			Thread.sleep(1);
+		assertTrue(condition.getAsBoolean());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> MessageRouter<T> router() {
+		return (MessageRouter<T>) Proxy.newProxyInstance(MessageRouter.class.getClassLoader(),
+				new Class<?>[] { MessageRouter.class }, (proxy, method, args) -> null);
+	}
+
+	/**
+	 * Server side of a call, readiness of the client to receive responses is set by the test
+	 */
+	private static class ResponseObserver extends ServerCallStreamObserver<RhBatchResponse> {
+		private final List<RhBatchResponse> values = new CopyOnWriteArrayList<>();
+		private final AtomicInteger requested = new AtomicInteger();
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private volatile boolean ready;
+		private volatile Runnable onReadyHandler;
+
+		private ResponseObserver(boolean ready) {
+			this.ready = ready;
+		}
+
+		/**
+		 * Makes the client ready and calls the handler as gRPC does
+		 */
+		private void setReady() {
+			ready = true;
+			if (onReadyHandler != null)
+				onReadyHandler.run();
+		}
+
+		private void awaitCompleted() throws InterruptedException {
+			assertTrue(completed.await(10, TimeUnit.SECONDS));
+		}
+
+		@Override
+		public void onNext(RhBatchResponse value) {
+			assertFalse(completed.getCount() == 0, "response after completion");
+			values.add(value);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			completed.countDown();
+		}
+
+		@Override
+		public void onCompleted() {
+			completed.countDown();
+		}
+
+		@Override
+		public boolean isReady() {
+			return ready;
+		}
+
+		@Override
+		public void setOnReadyHandler(Runnable onReadyHandler) {
+			this.onReadyHandler = onReadyHandler;
+		}
+
+		@Override
+		public void request(int count) {
+			requested.addAndGet(count);
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+
+		@Override
+		public void disableAutoInboundFlowControl() {
+		}
+
+		@Override
+		public void disableAutoRequest() {
+		}
+
+		@Override
+		public void setOnCancelHandler(Runnable onCancelHandler) {
+		}
+
+		@Override
+		public void setCompression(String compression) {
+		}
+
+		@Override
+		public void setMessageCompression(boolean enable) {
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionBatchQueueTest {
+	private static final String SESSION = "session";
+
+	@Test
+	void batchesAreExecutedOneByOneInOrder() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			SessionBatchQueue queue = new SessionBatchQueue(SESSION, 100, 0);
+			List<Integer> executed = new CopyOnWriteArrayList<>();
+			AtomicInteger running = new AtomicInteger();
+			List<CompletableFuture<Integer>> results = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				int number = i;
+				results.add(queue.submit(() -> {
+					assertEquals(1, running.incrementAndGet(), "batches of a session are not executed concurrently");
+					executed.add(number);
+					running.decrementAndGet();
+					return number;
+				}, executor));
+			}
+			for (int i = 0; i < results.size(); i++)
+				assertEquals(i, results.get(i).get(5, TimeUnit.SECONDS));
+			assertEquals(IntStream.range(0, 50).boxed().collect(Collectors.toList()), executed);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void batchIsRejectedWhenQueueIsFull() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			SessionBatchQueue queue = new SessionBatchQueue(SESSION, 2, 0);
+			CountDownLatch release = new CountDownLatch(1);
+			CompletableFuture<String> running = queue.submit(() -> await(release, "running"), executor);
+			CompletableFuture<String> first = queue.submit(() -> "first", executor);
+			CompletableFuture<String> second = queue.submit(() -> "second", executor);
+
+			assertThrows(RejectedExecutionException.class, () -> queue.submit(() -> "rejected", executor));
+			release.countDown();
+			assertEquals("running", running.get(5, TimeUnit.SECONDS));
+			assertEquals("first", first.get(5, TimeUnit.SECONDS));
+			assertEquals("second", second.get(5, TimeUnit.SECONDS));
+			waitIdle(queue);
+			assertEquals("accepted", queue.submit(() -> "accepted", executor).get(5, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void batchWaitingLongerThanTimeoutIsRejected() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			SessionBatchQueue queue = new SessionBatchQueue(SESSION, 10, 1);
+			CountDownLatch release = new CountDownLatch(1);
+			CompletableFuture<String> running = queue.submit(() -> await(release, "running"), executor);
+			CompletableFuture<String> expired = queue.submit(() -> "expired", executor);
+
+			ExecutionException error = assertThrows(ExecutionException.class, () -> expired.get(5, TimeUnit.SECONDS));
+			assertTrue(error.getCause() instanceof RejectedExecutionException);
+			release.countDown();
+			assertEquals("running", running.get(5, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void waitingBatchesAreRejectedOnClose() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			SessionBatchQueue queue = new SessionBatchQueue(SESSION, 10, 0);
+			CountDownLatch release = new CountDownLatch(1);
+			CompletableFuture<String> running = queue.submit(() -> await(release, "running"), executor);
+			CompletableFuture<String> waiting = queue.submit(() -> "waiting", executor);
+
+			queue.close();
+			ExecutionException error = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+			assertTrue(error.getCause() instanceof RejectedExecutionException);
+			assertThrows(RejectedExecutionException.class, () -> queue.submit(() -> "late", executor));
+			release.countDown();
+			assertEquals("running", running.get(5, TimeUnit.SECONDS), "executed batch is not interrupted");
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void busyQueueIsNotClosedAsIdle() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			SessionBatchQueue queue = new SessionBatchQueue(SESSION, 10, 0);
+			CountDownLatch release = new CountDownLatch(1);
+			CompletableFuture<String> running = queue.submit(() -> await(release, "first"), executor);
+			CompletableFuture<String> waiting = queue.submit(() -> "second", executor);
+
+			assertFalse(queue.closeIfIdle(() -> true));
+			release.countDown();
+			assertEquals("first", running.get(5, TimeUnit.SECONDS));
+			assertEquals("second", waiting.get(5, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void batchIsRejectedAfterIdleQueueIsClosed() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			SessionBatchQueue queue = new SessionBatchQueue(SESSION, 10, 0);
+			assertEquals("done", queue.submit(() -> "done", executor).get(5, TimeUnit.SECONDS));
+			waitIdle(queue);
+
+			assertFalse(queue.closeIfIdle(() -> false));
+			assertTrue(queue.closeIfIdle(() -> true));
+			assertFalse(queue.closeIfIdle(() -> true), "queue is claimed only once");
+			assertThrows(RejectedExecutionException.class, () -> queue.submit(() -> "late", executor));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	static void waitIdle(SessionBatchQueue queue) throws InterruptedException {
+		// the queue becomes idle right after the future of its last batch is completed
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (queue.isBusy() && System.nanoTime() < deadline)
+			Thread.sleep(1);
+		assertFalse(queue.isBusy());
+	}
+
+	static <T> T await(CountDownLatch latch, T result) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return result;
+	}
+}
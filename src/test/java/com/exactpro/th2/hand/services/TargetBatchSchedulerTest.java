@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TargetBatchSchedulerTest {
+	private static final String TARGET = "target";
+
+	private ExecutorService pool;
+	private final AtomicInteger toReject = new AtomicInteger();
+	private final AtomicInteger rejected = new AtomicInteger();
+	private final AtomicInteger tasks = new AtomicInteger();
+	/** Number of the delegate task executed by the current thread */
+	private final ThreadLocal<Integer> task = new ThreadLocal<>();
+	/** Rejects the given number of tasks, like a batch executor with full queue */
+	private final Executor delegate = command -> {
+		if (toReject.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+			rejected.incrementAndGet();
+			throw new RejectedExecutionException("Executor is full");
+		}
+		int taskNumber = tasks.incrementAndGet();
+		pool.execute(() -> {
+			task.set(taskNumber);
+			command.run();
+		});
+	};
+
+	@BeforeEach
+	void setUp() {
+		pool = Executors.newCachedThreadPool();
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	void waitingBatchesAreStartedByPriorityThenInOrder() throws Exception {
+		TargetBatchScheduler scheduler = new TargetBatchScheduler(TARGET, 1, 10, 0);
+		List<String> executed = new CopyOnWriteArrayList<>();
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(6);
+		scheduler.executor(0, delegate).execute(() -> {
+			SessionBatchQueueTest.await(release, null);
+			done.countDown();
+		});
+		for (String name : List.of("low-1", "high-1", "middle-1", "high-2", "low-2")) {
+			int priority = name.startsWith("high") ? 9 : name.startsWith("middle") ? 5 : 0;
+			scheduler.executor(priority, delegate).execute(() -> {
+				executed.add(name);
+				done.countDown();
+			});
+		}
+		release.countDown();
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of("high-1", "high-2", "middle-1", "low-1", "low-2"), executed);
+	}
+
+	@Test
+	void priorityIsClamped() throws Exception {
+		TargetBatchScheduler scheduler = new TargetBatchScheduler(TARGET, 1, 10, 0);
+		List<String> executed = new CopyOnWriteArrayList<>();
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(3);
+		scheduler.executor(0, delegate).execute(() -> {
+			SessionBatchQueueTest.await(release, null);
+			done.countDown();
+		});
+		// both are clamped to the highest priority, so they keep the order of arrival
+		scheduler.executor(100, delegate).execute(() -> {
+			executed.add("first");
+			done.countDown();
+		});
+		scheduler.executor(9, delegate).execute(() -> {
+			executed.add("second");
+			done.countDown();
+		});
+		release.countDown();
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of("first", "second"), executed);
+	}
+
+	@Test
+	void concurrentBatchesAreLimited() throws Exception {
+		int limit = 3;
+		TargetBatchScheduler scheduler = new TargetBatchScheduler(TARGET, limit, 100, 0);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(30);
+		for (int i = 0; i < 30; i++) {
+			scheduler.executor(i % 10, delegate).execute(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(10);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				running.decrementAndGet();
+				done.countDown();
+			});
+		}
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertEquals(limit, maxRunning.get());
+	}
+
+	@Test
+	void batchIsRejectedWhenTooManyAreWaiting() throws Exception {
+		TargetBatchScheduler scheduler = new TargetBatchScheduler(TARGET, 1, 2, 0);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(3);
+		scheduler.executor(0, delegate).execute(() -> {
+			SessionBatchQueueTest.await(release, null);
+			done.countDown();
+		});
+		scheduler.executor(0, delegate).execute(done::countDown);
+		scheduler.executor(0, delegate).execute(done::countDown);
+
+		assertThrows(RejectedExecutionException.class, () -> scheduler.executor(9, delegate).execute(() -> {}));
+		release.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void waitingBatchRejectedByExecutorIsRetried() throws Exception {
+		TargetBatchScheduler scheduler = new TargetBatchScheduler(TARGET, 1, 10, 0);
+		List<String> executed = new CopyOnWriteArrayList<>();
+		List<Integer> taskNumbers = new CopyOnWriteArrayList<>();
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(3);
+
+		scheduler.executor(0, delegate).execute(() -> {
+			SessionBatchQueueTest.await(release, null);
+			taskNumbers.add(task.get());
+			executed.add("first");
+			toReject.set(1);
+			done.countDown();
+		});
+		scheduler.executor(0, delegate).execute(() -> {
+			taskNumbers.add(task.get());
+			executed.add("second");
+			done.countDown();
+		});
+		release.countDown();
+		// the first batch releases its slot, the second one is rejected and waits for retry
+		awaitCondition(() -> rejected.get() == 1);
+		scheduler.executor(0, delegate).execute(() -> {
+			executed.add("third");
+			done.countDown();
+		});
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of("first", "second", "third"), executed);
+		assertEquals(1, rejected.get());
+		assertEquals(List.of(1, 2), taskNumbers, "rejected batch is executed by its own task of the executor");
+	}
+
+	static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline)
+			Thread.sleep(1);
+		assertTrue(condition.getAsBoolean());
+	}
+}
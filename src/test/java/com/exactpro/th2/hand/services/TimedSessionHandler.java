@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services;
+
+import com.exactpro.remotehand.ActionResult;
+import com.exactpro.remotehand.IRemoteHandManager;
+import com.exactpro.remotehand.rhdata.RhResponseCode;
+import com.exactpro.remotehand.rhdata.RhScriptResult;
+import com.exactpro.th2.hand.DriverEndpoint;
+import com.exactpro.th2.hand.RhConnectionManager;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces RemoteHand script processor with a script which is finished after the given time. 
+ * Each script has one action result, so partial responses are sent for it.
+ */
+public class TimedSessionHandler extends HandSessionHandler {
+	public static final String ACTION_RESULT = "done";
+
+	private volatile long scriptDurationMs;
+	private volatile boolean failing;
+	private volatile long scriptEnd;
+
+	public TimedSessionHandler(String id, String targetServer, DriverEndpoint endpoint, IRemoteHandManager manager,
+	                           RhConnectionManager connectionManager) {
+		super(id, targetServer, endpoint, manager, connectionManager);
+	}
+
+	/**
+	 * @param created receives handlers of all created sessions
+	 */
+	public static RhConnectionManager.SessionHandlerFactory factory(List<TimedSessionHandler> created) {
+		return factory(created, false);
+	}
+
+	/**
+	 * @param failing if true, scripts of created sessions finish with execution error
+	 */
+	public static RhConnectionManager.SessionHandlerFactory factory(List<TimedSessionHandler> created, boolean failing) {
+		return (sessionId, targetServer, endpoint, manager, connectionManager) -> {
+			TimedSessionHandler handler = new TimedSessionHandler(sessionId, targetServer, endpoint, fakeManager(), connectionManager);
+			handler.setFailing(failing);
+			created.add(handler);
+			return handler;
+		};
+	}
+
+	public void setScriptDurationMs(long scriptDurationMs) {
+		this.scriptDurationMs = scriptDurationMs;
+	}
+
+	/**
+	 * @param failing if true, scripts finish with execution error
+	 */
+	public void setFailing(boolean failing) {
+		this.failing = failing;
+	}
+
+	@Override
+	public void startScript(String script) {
+		scriptEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(scriptDurationMs);
+	}
+
+	@Override
+	protected boolean isScriptRunning() {
+		return System.nanoTime() < scriptEnd;
+	}
+
+	@Override
+	protected RhScriptResult getScriptResult() {
+		RhScriptResult result = new RhScriptResult();
+		if (failing) {
+			result.setCode(RhResponseCode.EXECUTION_ERROR.getCode());
+			result.setErrorMessage("Script of session '" + getId() + "' has failed");
+		} else {
+			result.setCode(RhResponseCode.SUCCESS.getCode());
+			result.getActionResults().add(new ActionResult("action", ACTION_RESULT));
+		}
+		return result;
+	}
+
+	private static IRemoteHandManager fakeManager() {
+		return (IRemoteHandManager) Proxy.newProxyInstance(IRemoteHandManager.class.getClassLoader(),
+				new Class<?>[] {IRemoteHandManager.class}, (proxy, method, args) -> null);
+	}
+}
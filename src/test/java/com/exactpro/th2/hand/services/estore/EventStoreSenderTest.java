@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services.estore;
+
+import com.exactpro.th2.common.grpc.Event;
+import com.exactpro.th2.common.grpc.EventBatch;
+import com.exactpro.th2.common.grpc.EventID;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.hand.schema.EventBatchingConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class EventStoreSenderTest {
+	private static final int PRODUCERS = 4;
+
+	@Test
+	void eventsAreBatchedByScope() throws Exception {
+		List<EventBatch> batches = new CopyOnWriteArrayList<>();
+		EventStoreSender sender = new EventStoreSender(router(batches), configuration(Map.of("maxEvents", 2, "lingerMs", 60_000)));
+		sender.storeEvent(event("scope-a", "1"));
+		sender.storeEvent(event("scope-a", "2"));
+		sender.storeEvent(event("scope-a", "3"));
+		sender.storeEvent(event("scope-b", "4"));
+		sender.close();
+
+		assertEquals(List.of(List.of("1", "2"), List.of("3"), List.of("4")), batches.stream()
+				.map(batch -> batch.getEventsList().stream().map(e -> e.getId().getId()).collect(Collectors.toList()))
+				.collect(Collectors.toList()));
+		assertFalse(sender.storeEvent(event("scope-a", "5")), "event stored after closing is rejected");
+	}
+
+	@Test
+	void eventsAcceptedWhileClosingAreSent() throws Exception {
+		List<EventBatch> batches = new CopyOnWriteArrayList<>();
+		// small queue keeps producers blocked in put() while the sender is closed
+		EventStoreSender sender = new EventStoreSender(router(batches), configuration(Map.of("queueSize", 16, "lingerMs", 1)));
+		Set<String> accepted = ConcurrentHashMap.newKeySet();
+		CountDownLatch accepting = new CountDownLatch(PRODUCERS * 100);
+		List<Thread> producers = new ArrayList<>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			int producer = p;
+			Thread thread = new Thread(() -> {
+				// producers stop on the first rejected event, it is rejected only because the sender is closed
+				for (int i = 0; sender.storeEvent(event("scope", producer + "-" + i)); i++) {
+					accepted.add(producer + "-" + i);
+					accepting.countDown();
+				}
+			});
+			producers.add(thread);
+			thread.start();
+		}
+		accepting.await();
+		sender.close();
+		for (Thread thread : producers) {
+			thread.join(5_000);
+			assertFalse(thread.isAlive());
+		}
+
+		Set<String> sent = batches.stream().flatMap(batch -> batch.getEventsList().stream())
+				.map(e -> e.getId().getId()).collect(Collectors.toSet());
+		assertFalse(accepted.isEmpty());
+		assertEquals(accepted, sent);
+	}
+
+	private static Event event(String scope, String id) {
+		return Event.newBuilder().setId(EventID.newBuilder().setBookName("book").setScope(scope).setId(id)).build();
+	}
+
+	private static EventBatchingConfiguration configuration(Map<String, Object> values) {
+		return new ObjectMapper().convertValue(values, EventBatchingConfiguration.class);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static MessageRouter<EventBatch> router(List<EventBatch> batches) {
+		return (MessageRouter<EventBatch>) Proxy.newProxyInstance(MessageRouter.class.getClassLoader(),
+				new Class<?>[] { MessageRouter.class },
+				(proxy, method, args) -> {
+					if ("send".equals(method.getName()) || "sendAll".equals(method.getName()))
+						batches.add((EventBatch) args[0]);
+					return null;
+				});
+	}
+}
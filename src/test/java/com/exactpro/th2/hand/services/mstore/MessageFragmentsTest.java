@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.exactpro.th2.common.grpc.ConnectionID;
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.common.grpc.MessageID;
+import com.exactpro.th2.common.grpc.RawMessage;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageFragmentsTest {
+	private static final int FRAGMENT_SIZE = 1000;
+	private static final long FIRST_SEQUENCE = 100;
+
+	@Test
+	void splitAndReassemble() {
+		ByteString body = randomBody(10 * FRAGMENT_SIZE + 1);
+		List<RawMessageMetadata> metadata = reserve(11);
+		List<RawMessage> fragments = MessageFragments.split(message(body, metadata.get(0)), metadata, FRAGMENT_SIZE);
+
+		assertEquals(11, fragments.size());
+		for (int i = 0; i < fragments.size(); i++) {
+			RawMessage fragment = fragments.get(i);
+			assertTrue(MessageFragments.isFragment(fragment));
+			assertEquals(FIRST_SEQUENCE + i, fragment.getMetadata().getId().getSequence());
+			assertEquals("image/png", fragment.getMetadata().getProtocol());
+			assertEquals(String.valueOf(FIRST_SEQUENCE), 
+					fragment.getMetadata().getPropertiesOrThrow(MessageFragments.FIRST_FRAGMENT_SEQUENCE_PROPERTY));
+			assertEquals(String.valueOf(i), fragment.getMetadata().getPropertiesOrThrow(MessageFragments.FRAGMENT_INDEX_PROPERTY));
+			assertEquals("11", fragment.getMetadata().getPropertiesOrThrow(MessageFragments.FRAGMENT_COUNT_PROPERTY));
+			assertTrue(fragment.getBody().size() <= FRAGMENT_SIZE);
+		}
+		assertEquals(1, fragments.get(10).getBody().size());
+
+		List<RawMessage> shuffled = new ArrayList<>(fragments);
+		Collections.shuffle(shuffled, new Random(1));
+		assertEquals(body, MessageFragments.reassemble(shuffled));
+	}
+
+	@Test
+	void streamedFragmentsReassemble() {
+		ByteString body = randomBody(3 * FRAGMENT_SIZE - 7);
+		List<RawMessageMetadata> metadata = reserve(MessageFragments.countFragments(body.size(), FRAGMENT_SIZE));
+		List<RawMessage> fragments = new ArrayList<>();
+		for (int i = 0; i < metadata.size(); i++) {
+			ByteString fragmentBody = body.substring(i * FRAGMENT_SIZE, Math.min((i + 1) * FRAGMENT_SIZE, body.size()));
+			fragments.add(MessageFragments.buildFragment(metadata.get(i), fragmentBody, i, metadata.size(), FIRST_SEQUENCE));
+		}
+
+		assertEquals(3, fragments.size());
+		assertEquals(body, MessageFragments.reassemble(fragments));
+	}
+
+	@Test
+	void smallMessageIsNotFragmented() {
+		ByteString body = randomBody(FRAGMENT_SIZE);
+		List<RawMessageMetadata> metadata = reserve(3);
+		List<RawMessage> fragments = MessageFragments.split(message(body, metadata.get(0)), metadata, FRAGMENT_SIZE);
+
+		assertEquals(1, fragments.size());
+		assertFalse(MessageFragments.isFragment(fragments.get(0)));
+		assertEquals(FIRST_SEQUENCE, fragments.get(0).getMetadata().getId().getSequence());
+		assertEquals(body, MessageFragments.reassemble(fragments));
+	}
+
+	@Test
+	void notEnoughReservedIds() {
+		List<RawMessageMetadata> metadata = reserve(2);
+		assertNull(MessageFragments.split(message(randomBody(3 * FRAGMENT_SIZE), metadata.get(0)), metadata, FRAGMENT_SIZE));
+	}
+
+	@Test
+	void missingFragment() {
+		List<RawMessageMetadata> metadata = reserve(3);
+		List<RawMessage> fragments = new ArrayList<>(
+				MessageFragments.split(message(randomBody(3 * FRAGMENT_SIZE), metadata.get(0)), metadata, FRAGMENT_SIZE));
+		fragments.remove(1);
+
+		assertThrows(IllegalArgumentException.class, () -> MessageFragments.reassemble(fragments));
+	}
+
+	@Test
+	void fragmentsOfDifferentMessages() {
+		List<RawMessageMetadata> metadata = reserve(4);
+		List<RawMessage> first = MessageFragments.split(message(randomBody(2 * FRAGMENT_SIZE), metadata.get(0)), 
+				metadata.subList(0, 2), FRAGMENT_SIZE);
+		List<RawMessage> second = MessageFragments.split(message(randomBody(2 * FRAGMENT_SIZE), metadata.get(2)), 
+				metadata.subList(2, 4), FRAGMENT_SIZE);
+
+		assertThrows(IllegalArgumentException.class, () -> MessageFragments.reassemble(List.of(first.get(0), second.get(1))));
+	}
+
+	@Test
+	void fragmentSizeLeavesSpaceForMetadata() {
+		assertEquals(1024 * 1024 - 4096, MessageFragments.getFragmentSize(1024 * 1024));
+		assertEquals(Integer.MAX_VALUE, MessageFragments.getFragmentSize(Long.MAX_VALUE));
+	}
+
+	private static RawMessage message(ByteString body, RawMessageMetadata metadata) {
+		return RawMessage.newBuilder().setMetadata(metadata.toBuilder().setProtocol("image/png")).setBody(body).build();
+	}
+
+	private static List<RawMessageMetadata> reserve(int count) {
+		List<RawMessageMetadata> metadata = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			metadata.add(RawMessageMetadata.newBuilder()
+					.setId(MessageID.newBuilder()
+							.setBookName("book")
+							.setConnectionId(ConnectionID.newBuilder().setSessionAlias("screenshots"))
+							.setDirection(Direction.FIRST)
+							.setSequence(FIRST_SEQUENCE + i))
+					.build());
+		}
+		return metadata;
+	}
+
+	private static ByteString randomBody(int size) {
+		byte[] bytes = new byte[size];
+		new Random(size).nextBytes(bytes);
+		return ByteString.copyFrom(bytes);
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.exactpro.th2.common.grpc.AnyMessage;
+import com.exactpro.th2.common.grpc.ConnectionID;
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.common.grpc.MessageGroup;
+import com.exactpro.th2.common.grpc.MessageGroupBatch;
+import com.exactpro.th2.common.grpc.MessageID;
+import com.exactpro.th2.common.grpc.RawMessage;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.hand.schema.CustomConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MessageStoreSenderTest {
+	private static final String BOOK = "book";
+	private static final String GROUP = "group";
+
+	@Test
+	void messagesOfBatchAreOrderedByAliasDirectionAndSequence() throws Exception {
+		List<MessageGroupBatch> batches = new CopyOnWriteArrayList<>();
+		MessageStoreSender sender = new MessageStoreSender(router(batches), configuration(60_000));
+		// concurrent producers may enqueue messages of a stream out of order of their sequences
+		sender.sendMessages(List.of(
+				message("b-alias", Direction.SECOND, 1),
+				message("a-alias", Direction.FIRST, 2),
+				message("b-alias", Direction.FIRST, 2),
+				message("a-alias", Direction.SECOND, 1),
+				message("a-alias", Direction.FIRST, 1),
+				message("b-alias", Direction.FIRST, 1),
+				message("a-alias", Direction.FIRST, 3),
+				message("b-alias", Direction.SECOND, 2)));
+		sender.close();
+
+		assertEquals(1, batches.size());
+		assertEquals(List.of(
+				"a-alias:FIRST:1", "a-alias:FIRST:2", "a-alias:FIRST:3",
+				"a-alias:SECOND:1",
+				"b-alias:FIRST:1", "b-alias:FIRST:2",
+				"b-alias:SECOND:1", "b-alias:SECOND:2"), ids(batches.get(0)));
+	}
+
+	@Test
+	void sentFutureIsCompletedWithBatch() throws Exception {
+		List<MessageGroupBatch> batches = new CopyOnWriteArrayList<>();
+		MessageStoreSender sender = new MessageStoreSender(router(batches), configuration(10));
+		CompletableFuture<Void> first = sender.sendMessage(message("a-alias", Direction.FIRST, 1));
+		CompletableFuture<Void> second = sender.sendMessage(message("b-alias", Direction.FIRST, 1));
+
+		first.get(5, TimeUnit.SECONDS);
+		second.get(5, TimeUnit.SECONDS);
+		sender.close();
+
+		assertEquals(List.of("a-alias:FIRST:1", "b-alias:FIRST:1"), 
+				batches.stream().flatMap(batch -> ids(batch).stream()).sorted().collect(Collectors.toList()));
+	}
+
+
+	private static List<String> ids(MessageGroupBatch batch) {
+		return batch.getGroupsList().stream()
+				.flatMap(group -> group.getMessagesList().stream())
+				.map(message -> message.getRawMessage().getMetadata().getId())
+				.map(id -> id.getConnectionId().getSessionAlias() + ':' + id.getDirection() + ':' + id.getSequence())
+				.collect(Collectors.toList());
+	}
+
+	private static RawMessage message(String alias, Direction direction, long sequence) {
+		MessageID id = MessageID.newBuilder()
+				.setBookName(BOOK)
+				.setConnectionId(ConnectionID.newBuilder().setSessionAlias(alias).setSessionGroup(GROUP))
+				.setDirection(direction)
+				.setSequence(sequence)
+				.build();
+		return RawMessage.newBuilder()
+				.setMetadata(RawMessageMetadata.newBuilder().setId(id))
+				.setBody(ByteString.copyFromUtf8(alias + sequence))
+				.build();
+	}
+
+	private static CustomConfiguration configuration(long lingerMs) {
+		return new ObjectMapper().convertValue(Map.of("message-batch-linger-ms", lingerMs), CustomConfiguration.class);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static MessageRouter<MessageGroupBatch> router(List<MessageGroupBatch> batches) {
+		return (MessageRouter<MessageGroupBatch>) Proxy.newProxyInstance(MessageRouter.class.getClassLoader(),
+				new Class<?>[] { MessageRouter.class },
+				(proxy, method, args) -> {
+					if ("send".equals(method.getName()) || "sendAll".equals(method.getName()))
+						batches.add((MessageGroupBatch) args[0]);
+					return null;
+				});
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.exactpro.th2.act.grpc.hand.rhactions.RhActionsMessages.RhWebActions;
+import com.exactpro.th2.act.grpc.hand.rhactions.RhWinActionsMessages.RhWinActions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.GeneratedMessageV3;
+import com.google.protobuf.Int32Value;
+import com.google.protobuf.Message;
+import com.google.protobuf.StringValue;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class RequestJsonWriterTest {
+	/** Empty value makes all scalar fields default, such fields are not written, nested messages are still present */
+	private static final List<String> VALUES = Arrays.asList("value", "", "va\"lue\\ / \t", "line1\r\nline2\nline3",
+			"кирилл   😀", "<script>&amp;</script>");
+	private static final int MAX_DEPTH = 3;
+
+	private final RequestJsonWriter writer = new RequestJsonWriter();
+
+	@Test
+	void webActionsAreWrittenAsByObjectMapper() throws IOException {
+		List<RhWebActions> actions = new ArrayList<>();
+		for (RhWebActions.ActionCase actionCase : RhWebActions.ActionCase.values()) {
+			if (actionCase == RhWebActions.ActionCase.ACTION_NOT_SET)
+				continue;
+			actions.add((RhWebActions) createAction(RhWebActions.newBuilder(), actionCase.getNumber(), null));
+			for (String value : VALUES)
+				actions.add((RhWebActions) createAction(RhWebActions.newBuilder(), actionCase.getNumber(), value));
+		}
+		actions.add(RhWebActions.getDefaultInstance());
+		assertSameJson(actions);
+	}
+
+	@Test
+	void winActionsAreWrittenAsByObjectMapper() throws IOException {
+		List<RhWinActions> actions = new ArrayList<>();
+		for (RhWinActions.ActionCase actionCase : RhWinActions.ActionCase.values()) {
+			if (actionCase == RhWinActions.ActionCase.ACTION_NOT_SET)
+				continue;
+			actions.add((RhWinActions) createAction(RhWinActions.newBuilder(), actionCase.getNumber(), null));
+			for (String value : VALUES)
+				actions.add((RhWinActions) createAction(RhWinActions.newBuilder(), actionCase.getNumber(), value));
+		}
+		actions.add(RhWinActions.getDefaultInstance());
+		assertSameJson(actions);
+	}
+
+	@Test
+	void emptyRequestIsWrittenAsByObjectMapper() throws IOException {
+		assertSameJson(Collections.emptyList());
+	}
+
+	private void assertSameJson(List<? extends GeneratedMessageV3> actions) throws IOException {
+		// the same writer is used twice, so the second time plans of descriptors are taken from its cache
+		for (int i = 0; i < 2; i++) {
+			byte[] expected = writeByObjectMapper(actions);
+			byte[] actual = writer.write(actions);
+			assertArrayEquals(expected, actual, () -> new String(actual));
+		}
+	}
+
+	/**
+	 * @param value value of all fields of the action or null to keep the action message empty
+	 */
+	private static Message createAction(Message.Builder action, int actionNumber, String value) {
+		FieldDescriptor field = action.getDescriptorForType().findFieldByNumber(actionNumber);
+		Message.Builder fieldBuilder = action.newBuilderForField(field);
+		return action.setField(field, value == null ? fieldBuilder.build() : fill(fieldBuilder, value, 1)).build();
+	}
+
+	/**
+	 * Sets all fields of the message. Repeated fields get two elements, the second element of messages is empty.
+	 */
+	private static Message fill(Message.Builder message, String value, int depth) {
+		for (FieldDescriptor field : message.getDescriptorForType().getFields()) {
+			Object fieldValue = createValue(message, field, value, depth);
+			if (fieldValue == null)
+				continue;
+
+			if (field.isRepeated()) {
+				message.addRepeatedField(field, fieldValue);
+				message.addRepeatedField(field, fieldValue instanceof Message 
+						? ((Message) fieldValue).getDefaultInstanceForType() : fieldValue);
+			} else {
+				message.setField(field, fieldValue);
+			}
+		}
+		return message.build();
+	}
+
+	private static Object createValue(Message.Builder message, FieldDescriptor field, String value, int depth) {
+		switch (field.getJavaType()) {
+			case STRING: return value;
+			case INT: return value.length();
+			case LONG: return (long) value.length();
+			case BOOLEAN: return !value.isEmpty();
+			case ENUM: return field.getEnumType().getValues().get(value.length() % field.getEnumType().getValues().size());
+			case MESSAGE: return depth < MAX_DEPTH ? fill(message.newBuilderForField(field), value, depth + 1) : null;
+			default: return null;
+		}
+	}
+
+	/**
+	 * Previous implementation of writing the request: maps built from {@link GeneratedMessageV3#getAllFields()} 
+	 * are serialized by {@link ObjectMapper}
+	 */
+	private static byte[] writeByObjectMapper(List<? extends GeneratedMessageV3> actions) throws IOException {
+		List<Map<String, Object>> allMessages = new ArrayList<>();
+		for (GeneratedMessageV3 rhAction : actions) {
+			for (Map.Entry<FieldDescriptor, Object> entry : rhAction.getAllFields().entrySet()) {
+				if (entry != null) {
+					Map<String, Object> fields = new LinkedHashMap<>();
+					fields.put("ActionName", entry.getKey().getName());
+					Object value = entry.getValue();
+					if (value instanceof GeneratedMessageV3) {
+						for (Map.Entry<FieldDescriptor, Object> entry2 :
+								((GeneratedMessageV3)value).getAllFields().entrySet()) {
+							Object valueObj = entry2.getValue();
+							if (valueObj instanceof List) {
+								fields.put(entry2.getKey().getName(), processList((List<?>) valueObj));
+							} else {
+								fields.put(entry2.getKey().getName(), valueToString(valueObj));
+							}
+						}
+					}
+					allMessages.add(fields);
+				}
+			}
+		}
+		return new ObjectMapper().writeValueAsBytes(Collections.singletonMap("messages", allMessages));
+	}
+
+	private static List<Map<String, Object>> processList(List<?> list) {
+		List<Map<String, Object>> processed = new ArrayList<>(list.size());
+		for (Object o : list) {
+			if (o instanceof GeneratedMessageV3) {
+				Map<String, Object> map = new LinkedHashMap<>();
+				for (Map.Entry<FieldDescriptor, Object> entry : ((GeneratedMessageV3) o).getAllFields().entrySet()) {
+					map.put(entry.getKey().getName(), valueToString(entry.getValue()));
+				}
+				processed.add(map);
+			} else {
+				processed.add(Collections.singletonMap("Value", valueToString(o)));
+			}
+		}
+		return processed;
+	}
+
+	private static String valueToString(Object object) {
+		if (object instanceof Int32Value) {
+			return String.valueOf(((Int32Value) object).getValue());
+		} else if (object instanceof StringValue) {
+			return ((StringValue) object).getValue();
+		} else {
+			return String.valueOf(object);
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Exactpro (Exactpro Systems Limited)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exactpro.th2.hand.services.mstore;
+
+import com.exactpro.remotehand.ActionResult;
+import com.exactpro.remotehand.Configuration;
+import com.exactpro.th2.common.grpc.MessageGroupBatch;
+import com.exactpro.th2.common.grpc.MessageID;
+import com.exactpro.th2.common.grpc.RawMessage;
+import com.exactpro.th2.common.schema.factory.CommonFactory;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.hand.builders.mstore.DefaultMessageStoreBuilder;
+import com.exactpro.th2.hand.builders.mstore.SequenceGenerator;
+import com.exactpro.th2.hand.schema.CustomConfiguration;
+import com.exactpro.th2.hand.schema.ScreenshotStorageConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ScreenshotStorageTest {
+	private static final String ALIAS = "screenshots";
+	private static final int SCREENSHOTS = 40;
+
+	private final List<RawMessage> sentMessages = new CopyOnWriteArrayList<>();
+	private final List<Path> files = new ArrayList<>();
+	private CommonFactory factory;
+	private MessageStoreSender sender;
+
+	@BeforeEach
+	void setUp() {
+		factory = new CommonFactory();
+		sender = new MessageStoreSender(router(sentMessages), 
+				new ObjectMapper().convertValue(Map.of("message-batch-linger-ms", 1), CustomConfiguration.class));
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		sender.close();
+		factory.close();
+		for (Path file : files)
+			Files.deleteIfExists(file);
+	}
+
+	@Test
+	void screenshotsOfConcurrentCallersArePublishedInOrderOfIds() throws Exception {
+		ScreenshotStorage storage = storage(Map.of("workers", 4, "queueSize", 1));
+		List<byte[]> contents = new ArrayList<>();
+		List<ActionResult> first = new ArrayList<>();
+		List<ActionResult> second = new ArrayList<>();
+		Random random = new Random(1);
+		for (int i = 0; i < SCREENSHOTS; i++) {
+			byte[] content = new byte[1 + random.nextInt(64 * 1024)];
+			random.nextBytes(content);
+			contents.add(content);
+			(i % 2 == 0 ? first : second).add(new ActionResult("screenshot" + i, writeScreenshot(content)));
+		}
+
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		Future<List<MessageID>> firstIds = callers.submit(() -> storage.store(first, ALIAS));
+		Future<List<MessageID>> secondIds = callers.submit(() -> storage.store(second, ALIAS));
+		List<MessageID> ids = new ArrayList<>(firstIds.get());
+		ids.addAll(secondIds.get());
+		callers.shutdown();
+		storage.close();
+		sender.close();
+
+		assertEquals(SCREENSHOTS, sentMessages.size());
+		List<Long> sentSequences = sentMessages.stream()
+				.map(message -> message.getMetadata().getId().getSequence()).collect(Collectors.toList());
+		assertEquals(ids.stream().map(MessageID::getSequence).sorted().collect(Collectors.toList()), sentSequences);
+		for (int i = 0; i < SCREENSHOTS; i++) {
+			MessageID id = (i % 2 == 0 ? firstIds.get().get(i / 2) : secondIds.get().get(i / 2));
+			RawMessage sent = sentMessages.get(sentSequences.indexOf(id.getSequence()));
+			assertArrayEquals(contents.get(i), sent.getBody().toByteArray());
+		}
+		for (Path file : files)
+			assertFalse(Files.exists(file), "Screenshot file is not deleted: " + file);
+	}
+
+	@Test
+	void duplicatesReferToEarlierScreenshots() throws Exception {
+		ScreenshotStorage storage = storage(Map.of("workers", 4, "queueSize", 2, "deduplicate", true));
+		byte[] content = new byte[1024];
+		new Random(2).nextBytes(content);
+		List<ActionResult> screenshots = new ArrayList<>();
+		for (int i = 0; i < 10; i++)
+			screenshots.add(new ActionResult("screenshot" + i, writeScreenshot(content)));
+
+		List<MessageID> ids = storage.store(screenshots, ALIAS);
+		storage.close();
+		sender.close();
+
+		assertEquals(ids.size(), sentMessages.size());
+		assertArrayEquals(content, sentMessages.get(0).getBody().toByteArray());
+		String original = String.valueOf(ids.get(0).getSequence());
+		for (RawMessage reference : sentMessages.subList(1, sentMessages.size()))
+			assertEquals(original, reference.getMetadata().getPropertiesOrThrow(ScreenshotDeduplicator.DUPLICATE_OF_PROPERTY));
+	}
+
+
+	private ScreenshotStorage storage(Map<String, Object> configuration) {
+		return new ScreenshotStorage(null, sender, new DefaultMessageStoreBuilder(factory, new SequenceGenerator(0)),
+				new ObjectMapper().convertValue(configuration, ScreenshotStorageConfiguration.class));
+	}
+
+	private String writeScreenshot(byte[] content) throws IOException {
+		String name = "screenshot-storage-test-" + UUID.randomUUID() + ".png";
+		Path file = Configuration.SCREENSHOTS_DIR_PATH.resolve(name);
+		Files.createDirectories(file.getParent());
+		Files.write(file, content);
+		files.add(file);
+		return name;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static MessageRouter<MessageGroupBatch> router(List<RawMessage> messages) {
+		return (MessageRouter<MessageGroupBatch>) Proxy.newProxyInstance(MessageRouter.class.getClassLoader(),
+				new Class<?>[] { MessageRouter.class },
+				(proxy, method, args) -> {
+					if ("send".equals(method.getName()) || "sendAll".equals(method.getName())) {
+						((MessageGroupBatch) args[0]).getGroupsList().forEach(group -> 
+								group.getMessagesList().forEach(message -> messages.add(message.getRawMessage())));
+					}
+					return null;
+				});
+	}
+}